@@ -0,0 +1,69 @@
+package com.asuprojects.helpdesk.benchmark;
+
+import java.io.IOException;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.mongodb.MongoClient;
+
+import de.flapdoodle.embed.mongo.MongodExecutable;
+import de.flapdoodle.embed.mongo.MongodProcess;
+import de.flapdoodle.embed.mongo.MongodStarter;
+import de.flapdoodle.embed.mongo.config.MongodConfigBuilder;
+import de.flapdoodle.embed.mongo.config.Net;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.process.runtime.Network;
+
+/*
+ * A throwaway mongod on a free local port for the repository-backed benchmarks. The binary
+ * is downloaded once into ~/.embedmongo; after that the benchmarks run offline.
+ */
+public final class EmbeddedMongo implements AutoCloseable {
+
+	private static final String DATABASE = "helpdesk-benchmark";
+
+	private final MongodExecutable executable;
+
+	private final MongodProcess process;
+
+	private final MongoClient client;
+
+	private final int port;
+
+	private EmbeddedMongo(MongodExecutable executable, MongodProcess process, int port) {
+		this.executable = executable;
+		this.process = process;
+		this.port = port;
+		this.client = new MongoClient("localhost", port);
+	}
+
+	public static EmbeddedMongo start() throws IOException {
+		int port = Network.getFreeServerPort();
+		MongodExecutable executable = MongodStarter.getDefaultInstance().prepare(new MongodConfigBuilder()
+				.version(Version.Main.PRODUCTION)
+				.net(new Net("localhost", port, Network.localhostIsIPv6()))
+				.build());
+		MongodProcess process = executable.start();
+		return new EmbeddedMongo(executable, process, port);
+	}
+
+	public int getPort() {
+		return port;
+	}
+
+	public MongoTemplate template() {
+		return template(DATABASE);
+	}
+
+	public MongoTemplate template(String database) {
+		return new MongoTemplate(client, database);
+	}
+
+	@Override
+	public void close() {
+		client.close();
+		process.stop();
+		executable.stop();
+	}
+
+}
@@ -0,0 +1,140 @@
+package com.asuprojects.helpdesk.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.entity.UserSummary;
+import com.asuprojects.helpdesk.api.enums.PriorityEnum;
+import com.asuprojects.helpdesk.api.enums.ProfileEnum;
+import com.asuprojects.helpdesk.api.enums.StatusEnum;
+import com.asuprojects.helpdesk.api.security.jwt.JwtAuthenticationTokenFilter;
+import com.asuprojects.helpdesk.api.security.jwt.JwtTokenUtil;
+import com.asuprojects.helpdesk.api.security.service.PrincipalCache;
+import com.asuprojects.helpdesk.api.security.service.TokenRevocationService;
+import com.asuprojects.helpdesk.api.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * Wires the application components by hand, with the values from application.properties,
+ * so the benchmarks run without a Spring context or a database.
+ */
+public final class Fixtures {
+
+	public static final String SECRET = "helpdesk_asu";
+	public static final long EXPIRATION = 900L;
+
+	public static final long REFRESH_EXPIRATION = 604800L;
+	public static final String EMAIL = "technician@helpdesk.com";
+
+	private Fixtures() {}
+
+	public static User user() {
+		User user = new User();
+		user.setId("5b7c2a4e9d1f3a0001a1b2c3");
+		user.setEmail(EMAIL);
+		user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z8tW1ZVOV3XA5H6wCXqgAy0y");
+		user.setProfile(ProfileEnum.ROLE_TECHNICIAN);
+		return user;
+	}
+
+	public static User customer(int index) {
+		User user = new User();
+		user.setId(String.format("5b7c2a4e9d1f3a%010x", index));
+		user.setEmail("customer" + index + "@helpdesk.com");
+		user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z8tW1ZVOV3XA5H6wCXqgAy0y");
+		user.setProfile(ProfileEnum.ROLE_CUSTOMER);
+		return user;
+	}
+
+	/*
+	 * Tickets cycling through every status and priority, owned by a handful of customers and
+	 * assigned to the technician once past New.
+	 */
+	public static List<Ticket> tickets(int amount) {
+		User technician = user();
+		List<User> customers = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			customers.add(customer(i));
+		}
+		StatusEnum[] statuses = StatusEnum.values();
+		PriorityEnum[] priorities = PriorityEnum.values();
+		List<Ticket> tickets = new ArrayList<>(amount);
+		for (int i = 0; i < amount; i++) {
+			User customer = customers.get(i % customers.size());
+			Ticket ticket = new Ticket();
+			ticket.setNumber(i + 1);
+			ticket.setTitle("Ticket " + (i + 1) + " printer on floor " + (i % 7) + " is not responding");
+			ticket.setDescription("The printer stopped answering after the last driver update, restarting did not help.");
+			ticket.setStatus(statuses[i % statuses.length]);
+			ticket.setPriority(priorities[i % priorities.length]);
+			ticket.setDate(new Date(1535760000000L + i * 60000L));
+			ticket.setVersion(0L);
+			ticket.setUser(customer);
+			ticket.setUserSummary(new UserSummary(customer));
+			if (ticket.getStatus() != StatusEnum.New) {
+				ticket.setAssignedUser(technician);
+				ticket.setAssignedUserSummary(new UserSummary(technician));
+			}
+			tickets.add(ticket);
+		}
+		return tickets;
+	}
+
+	/* configured like the ObjectMapper Spring Boot gives the message converters */
+	public static ObjectMapper objectMapper() {
+		return Jackson2ObjectMapperBuilder.json().build();
+	}
+
+	public static JwtTokenUtil jwtTokenUtil() {
+		JwtTokenUtil jwtTokenUtil = new JwtTokenUtil();
+		ReflectionTestUtils.setField(jwtTokenUtil, "secret", SECRET);
+		ReflectionTestUtils.setField(jwtTokenUtil, "expiration", EXPIRATION);
+		ReflectionTestUtils.setField(jwtTokenUtil, "refreshExpiration", REFRESH_EXPIRATION);
+		ReflectionTestUtils.setField(jwtTokenUtil, "claimsCacheSize", 10000L);
+		jwtTokenUtil.init();
+		return jwtTokenUtil;
+	}
+
+	/*
+	 * A UserService that answers every lookup with the same user, standing in for Mongo.
+	 */
+	public static UserService userService(User user) {
+		return (UserService) Proxy.newProxyInstance(UserService.class.getClassLoader(),
+				new Class<?>[] { UserService.class },
+				(proxy, method, args) -> method.getName().startsWith("find") && method.getReturnType() == User.class
+						? user : null);
+	}
+
+	public static PrincipalCache principalCache(UserService userService) {
+		PrincipalCache principalCache = new PrincipalCache();
+		ReflectionTestUtils.setField(principalCache, "userService", userService);
+		ReflectionTestUtils.setField(principalCache, "maxSize", 10000L);
+		ReflectionTestUtils.setField(principalCache, "ttl", 300L);
+		principalCache.init();
+		return principalCache;
+	}
+
+	public static JwtAuthenticationTokenFilter filter(JwtTokenUtil jwtTokenUtil, PrincipalCache principalCache) {
+		JwtAuthenticationTokenFilter filter = new JwtAuthenticationTokenFilter();
+		ReflectionTestUtils.setField(filter, "jwtTokenUtil", jwtTokenUtil);
+		ReflectionTestUtils.setField(filter, "principalCache", principalCache);
+		ReflectionTestUtils.setField(filter, "tokenRevocationService", tokenRevocationService(jwtTokenUtil));
+		return filter;
+	}
+
+	/* an empty revocation list; lookups never reach Mongo, which is only read when syncing */
+	public static TokenRevocationService tokenRevocationService(JwtTokenUtil jwtTokenUtil) {
+		TokenRevocationService tokenRevocationService = new TokenRevocationService();
+		ReflectionTestUtils.setField(tokenRevocationService, "jwtTokenUtil", jwtTokenUtil);
+		ReflectionTestUtils.setField(tokenRevocationService, "refreshExpiration", REFRESH_EXPIRATION);
+		return tokenRevocationService;
+	}
+
+}
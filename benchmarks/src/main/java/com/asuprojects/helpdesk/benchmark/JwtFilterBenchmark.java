@@ -0,0 +1,103 @@
+package com.asuprojects.helpdesk.benchmark;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.security.jwt.JwtAuthenticationTokenFilter;
+import com.asuprojects.helpdesk.api.security.jwt.JwtTokenUtil;
+import com.asuprojects.helpdesk.api.security.jwt.JwtUserFactory;
+import com.asuprojects.helpdesk.api.service.UserService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+/*
+ * Token validation on the request path: the previous implementation parsed and verified the
+ * token four times per request and loaded the user from the database, the current one parses
+ * once, caches verified claims and resolves the user through the principal cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+	private JwtTokenUtil jwtTokenUtil;
+
+	private JwtAuthenticationTokenFilter filter;
+
+	private UserService userService;
+
+	private String token;
+
+	@Setup
+	public void setup() {
+		User user = Fixtures.user();
+		userService = Fixtures.userService(user);
+		jwtTokenUtil = Fixtures.jwtTokenUtil();
+		filter = Fixtures.filter(jwtTokenUtil, Fixtures.principalCache(userService));
+		token = jwtTokenUtil.generateAccessToken(user, null);
+	}
+
+	@Benchmark
+	public boolean legacyValidation() {
+		return legacyValidate(token, JwtUserFactory.create(userService.findByEmail(legacyUserName(token))));
+	}
+
+	@Benchmark
+	public Claims singleParse() {
+		return jwtTokenUtil.parseClaims(token);
+	}
+
+	@Benchmark
+	public Claims cachedClaims() {
+		return jwtTokenUtil.getValidClaims(token);
+	}
+
+	@Benchmark
+	public MockHttpServletResponse filter() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ticket/0/10");
+		request.addHeader("Authorization", token);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		try {
+			filter.doFilter(request, response, new MockFilterChain());
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+		return response;
+	}
+
+	private Claims legacyClaims(String token) {
+		return Jwts.parser().setSigningKey(Fixtures.SECRET).parseClaimsJws(token).getBody();
+	}
+
+	private String legacyUserName(String token) {
+		return legacyClaims(token).getSubject();
+	}
+
+	private boolean legacyValidate(String token, UserDetails userDetails) {
+		String userName = legacyUserName(token);
+		Date expiration = legacyClaims(token).getExpiration();
+		return userName.equals(userDetails.getUsername()) && !expiration.before(new Date());
+	}
+
+}
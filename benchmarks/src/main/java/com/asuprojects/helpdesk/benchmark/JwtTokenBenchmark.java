@@ -0,0 +1,78 @@
+package com.asuprojects.helpdesk.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.security.jwt.JwtTokenUtil;
+import com.asuprojects.helpdesk.api.security.jwt.JwtUserFactory;
+
+import io.jsonwebtoken.Claims;
+
+/*
+ * The JwtTokenUtil operations behind login, refresh and every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenBenchmark {
+
+	private JwtTokenUtil jwtTokenUtil;
+
+	private User user;
+
+	private UserDetails userDetails;
+
+	private String refreshToken;
+
+	private String refreshTokenId;
+
+	private String token;
+
+	@Setup
+	public void setup() {
+		jwtTokenUtil = Fixtures.jwtTokenUtil();
+		user = Fixtures.user();
+		userDetails = JwtUserFactory.create(user);
+		refreshToken = jwtTokenUtil.generateRefreshToken(user);
+		refreshTokenId = jwtTokenUtil.parseClaims(refreshToken).getId();
+		token = jwtTokenUtil.generateAccessToken(user, refreshTokenId);
+	}
+
+	@Benchmark
+	public String generate() {
+		return jwtTokenUtil.generateAccessToken(user, refreshTokenId);
+	}
+
+	@Benchmark
+	public Claims parse() {
+		return jwtTokenUtil.parseClaims(token);
+	}
+
+	@Benchmark
+	public Boolean validate() {
+		return jwtTokenUtil.validateToken(token, userDetails);
+	}
+
+	/* what /api/refresh does: verify the refresh token and sign an access token from its claims */
+	@Benchmark
+	public String refresh() {
+		Claims claims = jwtTokenUtil.parseClaims(refreshToken);
+		return jwtTokenUtil.generateAccessToken(jwtTokenUtil.getUserFromClaims(claims), claims.getId());
+	}
+
+}
@@ -0,0 +1,73 @@
+package com.asuprojects.helpdesk.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.asuprojects.helpdesk.api.dto.TicketListItem;
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.response.Response;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * Writing a listing page to JSON, as the message converter does: full tickets as the
+ * listing returned them before, and the TicketListItem projection it returns now.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+	@Param({ "10", "100" })
+	private int count;
+
+	private ObjectMapper objectMapper;
+
+	private Response<Page<Ticket>> tickets;
+
+	private Response<Page<TicketListItem>> listItems;
+
+	@Setup
+	public void setup() {
+		objectMapper = Fixtures.objectMapper();
+		List<Ticket> content = Fixtures.tickets(count);
+		List<TicketListItem> items = new ArrayList<>();
+		for (Ticket ticket : content) {
+			items.add(TicketListItem.of(ticket));
+		}
+		PageRequest pageable = PageRequest.of(0, count);
+		tickets = new Response<Page<Ticket>>();
+		tickets.setData(new PageImpl<>(content, pageable, 10000));
+		listItems = new Response<Page<TicketListItem>>();
+		listItems.setData(new PageImpl<>(items, pageable, 10000));
+	}
+
+	@Benchmark
+	public byte[] tickets() throws Exception {
+		return objectMapper.writeValueAsBytes(tickets);
+	}
+
+	@Benchmark
+	public byte[] listItems() throws Exception {
+		return objectMapper.writeValueAsBytes(listItems);
+	}
+
+}
@@ -0,0 +1,43 @@
+package com.asuprojects.helpdesk.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.asuprojects.helpdesk.api.enums.StatusEnum;
+
+/*
+ * StatusEnum.getStatus runs on every status change and filtered listing; valueOf is the
+ * baseline it would be replaced with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusEnumBenchmark {
+
+	@Param({ "New", "Disapproved", "Closed" })
+	private String status;
+
+	@Benchmark
+	public StatusEnum getStatus() {
+		return StatusEnum.getStatus(status);
+	}
+
+	@Benchmark
+	public StatusEnum valueOf() {
+		return StatusEnum.valueOf(status);
+	}
+
+}
@@ -0,0 +1,96 @@
+package com.asuprojects.helpdesk.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.asuprojects.helpdesk.api.dto.Summary;
+import com.asuprojects.helpdesk.api.dto.SummaryBreakdown;
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.enums.StatusEnum;
+import com.asuprojects.helpdesk.api.repository.SummaryRepositoryImpl;
+import com.asuprojects.helpdesk.api.service.impl.SummaryServiceImpl;
+
+/*
+ * The ticket summary over N tickets in an embedded mongod: the former findAll-and-count
+ * loop, the status aggregation that rebuilds the counters, the breakdown facets and the
+ * in-memory counters the endpoint now reads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SummaryBenchmark {
+
+	@Param({ "1000", "10000" })
+	private int tickets;
+
+	private EmbeddedMongo mongo;
+
+	private MongoTemplate mongoTemplate;
+
+	private SummaryRepositoryImpl summaryRepository;
+
+	private SummaryServiceImpl summaryService;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		mongo = EmbeddedMongo.start();
+		mongoTemplate = mongo.template();
+		mongoTemplate.insertAll(Fixtures.tickets(tickets));
+		summaryRepository = new SummaryRepositoryImpl();
+		ReflectionTestUtils.setField(summaryRepository, "mongoTemplate", mongoTemplate);
+		summaryService = new SummaryServiceImpl();
+		ReflectionTestUtils.setField(summaryService, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(summaryService, "summaryRepository", summaryRepository);
+		summaryService.init();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		summaryService.shutdown();
+		mongo.close();
+	}
+
+	@Benchmark
+	public int[] legacyFindAll() {
+		int[] amounts = new int[StatusEnum.values().length];
+		for (Ticket ticket : mongoTemplate.findAll(Ticket.class)) {
+			amounts[ticket.getStatus().ordinal()]++;
+		}
+		return amounts;
+	}
+
+	@Benchmark
+	public long rebuild() {
+		summaryService.rebuild();
+		return summaryService.getTotal();
+	}
+
+	@Benchmark
+	public SummaryBreakdown breakdown() {
+		return summaryRepository.findBreakdown();
+	}
+
+	@Benchmark
+	public Summary counters() {
+		return summaryService.getSummary();
+	}
+
+}
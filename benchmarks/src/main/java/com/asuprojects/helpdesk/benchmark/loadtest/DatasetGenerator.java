@@ -0,0 +1,253 @@
+package com.asuprojects.helpdesk.benchmark.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.asuprojects.helpdesk.api.entity.ChangeStatus;
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.entity.UserSummary;
+import com.asuprojects.helpdesk.api.enums.PriorityEnum;
+import com.asuprojects.helpdesk.api.enums.ProfileEnum;
+import com.asuprojects.helpdesk.api.enums.StatusEnum;
+import com.mongodb.MongoClient;
+import com.mongodb.MongoClientURI;
+
+/*
+ * Fills a database with users, tickets and their status histories. Everything but the
+ * password salt is derived from the seed, ids included, so the same arguments always
+ * produce the same dataset.
+ * Statuses follow the workflow: every ticket past New has one history row per transition
+ * that led to its current status. A few customers open most of the tickets.
+ */
+public class DatasetGenerator {
+
+	public static final String PASSWORD = "123456";
+
+	private static final int BATCH_SIZE = 1000;
+
+	private static final long START = 1514764800000L;
+
+	private static final String[] SUBJECTS = { "Printer", "Laptop", "VPN", "Email", "Monitor", "Keyboard",
+			"Password", "Network", "Phone", "Badge reader", "Projector", "Database", "Payroll system", "Wi-Fi" };
+
+	private static final String[] PROBLEMS = { "is not responding", "keeps disconnecting", "shows an error on startup",
+			"is very slow", "cannot be reached", "needs to be replaced", "asks for a new license",
+			"stopped working after the update" };
+
+	private static final StatusEnum[] STATUSES = { StatusEnum.New, StatusEnum.Assigned, StatusEnum.Resolved,
+			StatusEnum.Approved, StatusEnum.Disapproved, StatusEnum.Closed };
+
+	private static final int[] STATUS_WEIGHTS = { 15, 25, 15, 10, 5, 30 };
+
+	private static final PriorityEnum[] PRIORITIES = { PriorityEnum.High, PriorityEnum.Normal, PriorityEnum.Low };
+
+	private static final int[] PRIORITY_WEIGHTS = { 20, 60, 20 };
+
+	private final MongoTemplate mongoTemplate;
+
+	private final Random random;
+
+	private final String encodedPassword = new BCryptPasswordEncoder().encode(PASSWORD);
+
+	public DatasetGenerator(MongoTemplate mongoTemplate, long seed) {
+		this.mongoTemplate = mongoTemplate;
+		this.random = new Random(seed);
+	}
+
+	public static String[] searchTerms() {
+		return SUBJECTS.clone();
+	}
+
+	/*
+	 * Usage: DatasetGenerator <mongodb-uri> [customers] [technicians] [tickets] [seed]
+	 */
+	public static void main(String[] args) {
+		MongoClientURI uri = new MongoClientURI(args[0]);
+		MongoClient client = new MongoClient(uri);
+		try {
+			DatasetGenerator generator = new DatasetGenerator(new MongoTemplate(client, uri.getDatabase()),
+					args.length > 4 ? Long.parseLong(args[4]) : 42L);
+			Dataset dataset = generator.generate(args.length > 1 ? Integer.parseInt(args[1]) : 1000,
+					args.length > 2 ? Integer.parseInt(args[2]) : 50, args.length > 3 ? Integer.parseInt(args[3]) : 100000);
+			System.out.println(dataset);
+		} finally {
+			client.close();
+		}
+	}
+
+	public Dataset generate(int customerCount, int technicianCount, int ticketCount) {
+		long started = System.nanoTime();
+		List<User> customers = users("customer", ProfileEnum.ROLE_CUSTOMER, customerCount, 0);
+		List<User> technicians = users("technician", ProfileEnum.ROLE_TECHNICIAN, technicianCount, customerCount);
+		mongoTemplate.insert(customers, User.class);
+		mongoTemplate.insert(technicians, User.class);
+
+		List<String> ticketIds = new ArrayList<>(ticketCount);
+		List<Ticket> tickets = new ArrayList<>(BATCH_SIZE);
+		List<ChangeStatus> changes = new ArrayList<>();
+		long changeCount = 0;
+		for (int i = 0; i < ticketCount; i++) {
+			User customer = customers.get((int) (customers.size() * Math.pow(random.nextDouble(), 3)));
+			User technician = technicians.get(random.nextInt(technicians.size()));
+			Ticket ticket = ticket(i, customer);
+			List<StatusEnum> path = path(pick(STATUSES, STATUS_WEIGHTS));
+			long date = ticket.getDate().getTime();
+			for (StatusEnum status : path) {
+				date += TimeUnit.MINUTES.toMillis(30 + random.nextInt(60 * 48));
+				User userChange = status == StatusEnum.Approved || status == StatusEnum.Disapproved ? customer : technician;
+				changes.add(change(ticket, status, userChange, new Date(date), changeCount++));
+			}
+			if (!path.isEmpty()) {
+				ticket.setStatus(path.get(path.size() - 1));
+				ticket.setAssignedUser(technician);
+				ticket.setAssignedUserSummary(new UserSummary(technician));
+			}
+			ticket.setVersion((long) path.size());
+			tickets.add(ticket);
+			ticketIds.add(ticket.getId());
+			if (tickets.size() == BATCH_SIZE) {
+				flush(tickets, changes);
+			}
+		}
+		flush(tickets, changes);
+		return new Dataset(customers, technicians, ticketIds, changeCount,
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+	}
+
+	private List<User> users(String prefix, ProfileEnum profile, int amount, int offset) {
+		List<User> users = new ArrayList<>(amount);
+		for (int i = 0; i < amount; i++) {
+			User user = new User();
+			user.setId(objectId(START, offset + i));
+			user.setEmail(prefix + i + "@loadtest.com");
+			user.setPassword(encodedPassword);
+			user.setProfile(profile);
+			users.add(user);
+		}
+		return users;
+	}
+
+	private Ticket ticket(int index, User customer) {
+		long date = START + (long) (random.nextDouble() * TimeUnit.DAYS.toMillis(365));
+		Ticket ticket = new Ticket();
+		ticket.setId(objectId(date, index));
+		ticket.setNumber(index + 1);
+		ticket.setTitle(pick(SUBJECTS) + " " + pick(PROBLEMS));
+		ticket.setDescription("Reported from room " + (100 + random.nextInt(400)) + ". " + pick(SUBJECTS) + " "
+				+ pick(PROBLEMS) + " since this morning, it affects " + (1 + random.nextInt(20)) + " people.");
+		ticket.setStatus(StatusEnum.New);
+		ticket.setPriority(pick(PRIORITIES, PRIORITY_WEIGHTS));
+		ticket.setDate(new Date(date));
+		ticket.setUser(customer);
+		ticket.setUserSummary(new UserSummary(customer));
+		return ticket;
+	}
+
+	private ChangeStatus change(Ticket ticket, StatusEnum status, User userChange, Date date, long index) {
+		ChangeStatus change = new ChangeStatus();
+		change.setId(objectId(date.getTime(), index));
+		change.setTicket(ticket);
+		change.setStatus(status);
+		change.setUserChange(userChange);
+		change.setUserChangeSummary(new UserSummary(userChange));
+		change.setDateChangeStatus(date);
+		return change;
+	}
+
+	private static List<StatusEnum> path(StatusEnum status) {
+		switch (status) {
+		case Assigned:
+			return Arrays.asList(StatusEnum.Assigned);
+		case Resolved:
+			return Arrays.asList(StatusEnum.Assigned, StatusEnum.Resolved);
+		case Approved:
+			return Arrays.asList(StatusEnum.Assigned, StatusEnum.Resolved, StatusEnum.Approved);
+		case Disapproved:
+			return Arrays.asList(StatusEnum.Assigned, StatusEnum.Resolved, StatusEnum.Disapproved);
+		case Closed:
+			return Arrays.asList(StatusEnum.Assigned, StatusEnum.Resolved, StatusEnum.Approved, StatusEnum.Closed);
+		default:
+			return Collections.emptyList();
+		}
+	}
+
+	private void flush(List<Ticket> tickets, List<ChangeStatus> changes) {
+		if (!tickets.isEmpty()) {
+			mongoTemplate.insert(tickets, Ticket.class);
+			tickets.clear();
+		}
+		if (!changes.isEmpty()) {
+			mongoTemplate.insert(changes, ChangeStatus.class);
+			changes.clear();
+		}
+	}
+
+	private <T> T pick(T[] values) {
+		return values[random.nextInt(values.length)];
+	}
+
+	private <T> T pick(T[] values, int[] weights) {
+		int total = 0;
+		for (int weight : weights) {
+			total += weight;
+		}
+		int value = random.nextInt(total);
+		for (int i = 0; i < values.length; i++) {
+			value -= weights[i];
+			if (value < 0) {
+				return values[i];
+			}
+		}
+		return values[values.length - 1];
+	}
+
+	/* the creation time in seconds followed by the index, as a valid ObjectId hex string */
+	private static String objectId(long time, long index) {
+		return String.format("%08x%016x", TimeUnit.MILLISECONDS.toSeconds(time), index);
+	}
+
+	public static class Dataset {
+
+		private final List<User> customers;
+		private final List<User> technicians;
+		private final List<String> ticketIds;
+		private final long changeCount;
+		private final long elapsed;
+
+		Dataset(List<User> customers, List<User> technicians, List<String> ticketIds, long changeCount, long elapsed) {
+			this.customers = customers;
+			this.technicians = technicians;
+			this.ticketIds = ticketIds;
+			this.changeCount = changeCount;
+			this.elapsed = elapsed;
+		}
+
+		public List<User> getCustomers() {
+			return customers;
+		}
+
+		public List<User> getTechnicians() {
+			return technicians;
+		}
+
+		public List<String> getTicketIds() {
+			return ticketIds;
+		}
+
+		@Override
+		public String toString() {
+			return "Generated " + customers.size() + " customers, " + technicians.size() + " technicians, "
+					+ ticketIds.size() + " tickets and " + changeCount + " history rows in " + elapsed + " ms";
+		}
+	}
+
+}
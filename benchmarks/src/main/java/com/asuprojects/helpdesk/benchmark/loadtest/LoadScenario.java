@@ -0,0 +1,292 @@
+package com.asuprojects.helpdesk.benchmark.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.enums.ProfileEnum;
+import com.asuprojects.helpdesk.benchmark.loadtest.DatasetGenerator.Dataset;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * Virtual users log in as a random customer or technician and then loop over the ticket
+ * board: list, search and summary for everyone; technicians also read a ticket and move it
+ * on from the status they read, as status changes must name it. Each user logs in again
+ * every few iterations so login stays in the mix; a failed login backs off before the next
+ * attempt and a user whose logins keep failing stops. Latencies are kept per endpoint and
+ * thread and merged once the run is over.
+ */
+public class LoadScenario {
+
+	public static final String LOGIN = "login";
+	public static final String LIST = "list";
+	public static final String SEARCH = "search";
+	public static final String READ = "read";
+	public static final String CHANGE_STATUS = "changeStatus";
+	public static final String SUMMARY = "summary";
+
+	private static final List<String> ENDPOINTS = Arrays.asList(LOGIN, LIST, SEARCH, READ, CHANGE_STATUS, SUMMARY);
+
+	private static final int ITERATIONS_PER_LOGIN = 20;
+
+	private static final int MAX_LOGIN_FAILURES = 5;
+
+	private static final long LOGIN_BACKOFF = 100;
+
+	private static final long MAX_LOGIN_BACKOFF = 5000;
+
+	private final String baseUrl;
+
+	private final Dataset dataset;
+
+	private final String[] searchTerms = DatasetGenerator.searchTerms();
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	public LoadScenario(String baseUrl, Dataset dataset) {
+		this.baseUrl = baseUrl;
+		this.dataset = dataset;
+	}
+
+	public Report run(int threads, long duration, long seed) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(duration);
+		List<Map<String, Recorder>> perThread = new ArrayList<>();
+		CountDownLatch done = new CountDownLatch(threads);
+		long started = System.nanoTime();
+		for (int i = 0; i < threads; i++) {
+			Map<String, Recorder> recorders = new LinkedHashMap<>();
+			for (String endpoint : ENDPOINTS) {
+				recorders.put(endpoint, new Recorder());
+			}
+			perThread.add(recorders);
+			Random random = new Random(seed + i);
+			Thread thread = new Thread(() -> {
+				try {
+					virtualUser(random, recorders, deadline);
+				} finally {
+					done.countDown();
+				}
+			}, "virtual-user-" + i);
+			thread.setDaemon(true);
+			thread.start();
+		}
+		done.await();
+		long elapsed = System.nanoTime() - started;
+		Map<String, Recorder> merged = new LinkedHashMap<>();
+		for (String endpoint : ENDPOINTS) {
+			Recorder recorder = new Recorder();
+			for (Map<String, Recorder> recorders : perThread) {
+				recorder.merge(recorders.get(endpoint));
+			}
+			merged.put(endpoint, recorder);
+		}
+		return new Report(merged, elapsed);
+	}
+
+	private void virtualUser(Random random, Map<String, Recorder> recorders, long deadline) {
+		boolean technician = random.nextInt(100) < 40;
+		List<User> users = technician ? dataset.getTechnicians() : dataset.getCustomers();
+		User user = users.get(random.nextInt(users.size()));
+		String token = null;
+		int iteration = 0;
+		int failures = 0;
+		while (System.nanoTime() < deadline) {
+			if (token == null || ++iteration % ITERATIONS_PER_LOGIN == 0) {
+				token = login(user, recorders.get(LOGIN));
+				if (token == null) {
+					if (++failures >= MAX_LOGIN_FAILURES || !backOff(failures, deadline)) {
+						return;
+					}
+					continue;
+				}
+				failures = 0;
+			}
+			int operation = random.nextInt(100);
+			if (operation < 40) {
+				call(recorders.get(LIST), "GET", "/api/ticket/" + random.nextInt(10) + "/10", token, null);
+			} else if (operation < 60) {
+				String term = searchTerms[random.nextInt(searchTerms.length)];
+				call(recorders.get(SEARCH), "GET", "/api/ticket/search/0/10?text=" + encode(term), token, null);
+			} else if (operation < 85 || !ProfileEnum.ROLE_TECHNICIAN.equals(user.getProfile())) {
+				call(recorders.get(SUMMARY), "GET", "/api/ticket/summary", token, null);
+			} else {
+				changeStatus(random, recorders, token);
+			}
+		}
+	}
+
+	/* sleeps for a doubling delay, capped by the run deadline; false when interrupted */
+	private boolean backOff(int failures, long deadline) {
+		long delay = Math.min(LOGIN_BACKOFF << (failures - 1), MAX_LOGIN_BACKOFF);
+		long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+		try {
+			Thread.sleep(Math.max(0, Math.min(delay, remaining)));
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private void changeStatus(Random random, Map<String, Recorder> recorders, String token) {
+		List<String> ids = dataset.getTicketIds();
+		String id = ids.get(random.nextInt(ids.size()));
+		String current = status(call(recorders.get(READ), "GET", "/api/ticket/" + id, token, null));
+		if (current == null) {
+			return;
+		}
+		String status = "Assigned".equals(current) ? "Resolved" : "Assigned";
+		call(recorders.get(CHANGE_STATUS), "PUT", "/api/ticket/" + id + "/" + status, token,
+				"{\"status\":\"" + current + "\"}");
+	}
+
+	private String status(byte[] response) {
+		if (response == null) {
+			return null;
+		}
+		try {
+			JsonNode status = objectMapper.readTree(response).path("data").path("status");
+			return status.isTextual() ? status.asText() : null;
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private String login(User user, Recorder recorder) {
+		String body = "{\"email\":\"" + user.getEmail() + "\",\"password\":\"" + DatasetGenerator.PASSWORD + "\"}";
+		byte[] response = call(recorder, "POST", "/api/auth", null, body);
+		if (response == null) {
+			return null;
+		}
+		try {
+			JsonNode token = objectMapper.readTree(response).get("token");
+			return token == null ? null : token.asText();
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/* returns the body of a successful response, or null after recording an error */
+	private byte[] call(Recorder recorder, String method, String path, String token, String body) {
+		long started = System.nanoTime();
+		try {
+			HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+			connection.setRequestMethod(method);
+			if (token != null) {
+				connection.setRequestProperty("Authorization", token);
+			}
+			if (body != null) {
+				connection.setDoOutput(true);
+				connection.setRequestProperty("Content-Type", "application/json");
+				try (OutputStream output = connection.getOutputStream()) {
+					output.write(body.getBytes(StandardCharsets.UTF_8));
+				}
+			}
+			int status = connection.getResponseCode();
+			InputStream input = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+			byte[] response = input == null ? new byte[0] : readAll(input);
+			recorder.record(System.nanoTime() - started, status < 400);
+			return status < 400 ? response : null;
+		} catch (IOException e) {
+			recorder.record(System.nanoTime() - started, false);
+			return null;
+		}
+	}
+
+	private static byte[] readAll(InputStream input) throws IOException {
+		try (InputStream in = input) {
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				output.write(buffer, 0, read);
+			}
+			return output.toByteArray();
+		}
+	}
+
+	private static String encode(String value) {
+		try {
+			return URLEncoder.encode(value, "UTF-8");
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static class Recorder {
+
+		private long[] latencies = new long[1024];
+		private int count;
+		private int errors;
+
+		void record(long nanos, boolean success) {
+			if (count == latencies.length) {
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			latencies[count++] = nanos;
+			if (!success) {
+				errors++;
+			}
+		}
+
+		void merge(Recorder other) {
+			for (int i = 0; i < other.count; i++) {
+				record(other.latencies[i], true);
+			}
+			errors += other.errors;
+		}
+
+		double percentile(double percentile) {
+			if (count == 0) {
+				return 0;
+			}
+			long[] sorted = Arrays.copyOf(latencies, count);
+			Arrays.sort(sorted);
+			int index = (int) Math.ceil(percentile / 100 * count) - 1;
+			return sorted[Math.max(index, 0)] / 1e6;
+		}
+	}
+
+	public static class Report {
+
+		private final Map<String, Recorder> recorders;
+		private final long elapsed;
+
+		Report(Map<String, Recorder> recorders, long elapsed) {
+			this.recorders = recorders;
+			this.elapsed = elapsed;
+		}
+
+		@Override
+		public String toString() {
+			double seconds = elapsed / 1e9;
+			StringBuilder report = new StringBuilder(String.format("%-14s %10s %8s %10s %10s %10s%n",
+					"endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms"));
+			long total = 0;
+			for (Map.Entry<String, Recorder> entry : recorders.entrySet()) {
+				Recorder recorder = entry.getValue();
+				total += recorder.count;
+				report.append(String.format("%-14s %10d %8d %10.1f %10.2f %10.2f%n", entry.getKey(), recorder.count,
+						recorder.errors, recorder.count / seconds, recorder.percentile(50), recorder.percentile(99)));
+			}
+			report.append(String.format("%-14s %10d %8s %10.1f%n", "total", total, "", total / seconds));
+			return report.toString();
+		}
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.asuprojects.helpdesk.benchmark.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.asuprojects.helpdesk.HelpDeskApplication;
+import com.asuprojects.helpdesk.benchmark.EmbeddedMongo;
+import com.asuprojects.helpdesk.benchmark.loadtest.DatasetGenerator.Dataset;
+
+/*
+ * Generates a dataset in an embedded mongod, starts the application on a free port against
+ * it and runs the load scenario, printing throughput and p50/p99 latency per endpoint.
+ *
+ * Options (all optional): --customers=1000 --technicians=50 --tickets=100000 --threads=16
+ * --duration=60 (seconds) --seed=42
+ */
+public class LoadTest {
+
+	private static final String DATABASE = "helpdesk-loadtest";
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = options(args);
+		long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+		try (EmbeddedMongo mongo = EmbeddedMongo.start()) {
+			DatasetGenerator generator = new DatasetGenerator(mongo.template(DATABASE), seed);
+			Dataset dataset = generator.generate(Integer.parseInt(options.getOrDefault("customers", "1000")),
+					Integer.parseInt(options.getOrDefault("technicians", "50")),
+					Integer.parseInt(options.getOrDefault("tickets", "100000")));
+			System.out.println(dataset);
+			ConfigurableApplicationContext context = new SpringApplicationBuilder(HelpDeskApplication.class)
+					.properties("server.port=0",
+							"spring.data.mongodb.host=localhost",
+							"spring.data.mongodb.port=" + mongo.getPort(),
+							"spring.data.mongodb.database=" + DATABASE,
+							"logging.level.root=WARN")
+					.run();
+			try {
+				String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+				LoadScenario scenario = new LoadScenario(baseUrl, dataset);
+				System.out.println(scenario.run(Integer.parseInt(options.getOrDefault("threads", "16")),
+						Long.parseLong(options.getOrDefault("duration", "60")), seed));
+			} finally {
+				context.close();
+			}
+		}
+	}
+
+	private static Map<String, String> options(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			if (arg.startsWith("--") && arg.contains("=")) {
+				options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+			}
+		}
+		return options;
+	}
+
+}
@@ -4,6 +4,7 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.asuprojects.helpdesk.api.entity.User;
@@ -11,6 +12,7 @@ import com.asuprojects.helpdesk.api.enums.ProfileEnum;
 import com.asuprojects.helpdesk.api.repository.UserRepository;
 
 @SpringBootApplication
+@EnableScheduling
 public class HelpDeskApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,71 @@
+package com.asuprojects.helpdesk.api.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/*
+ * Times every blocking repository call, inherited CRUD methods included, and the public
+ * JwtTokenUtil methods. Reactive repositories are left out since they return before the
+ * query runs.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+	@Around("this(org.springframework.data.repository.Repository)"
+			+ " && !this(org.springframework.data.repository.reactive.ReactiveCrudRepository)")
+	public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+		String repository = repositoryNames.computeIfAbsent(joinPoint.getThis().getClass(),
+				type -> repositoryName(joinPoint.getThis()));
+		return time("repository.invocations", joinPoint, "repository", repository);
+	}
+
+	@Around("execution(public * com.asuprojects.helpdesk.api.security.jwt.JwtTokenUtil.*(..))")
+	public Object timeJwt(ProceedingJoinPoint joinPoint) throws Throwable {
+		return time("jwt.operations", joinPoint, null, null);
+	}
+
+	private Object time(String name, ProceedingJoinPoint joinPoint, String key, String value) throws Throwable {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String exception = "none";
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable e) {
+			exception = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			Timer.Builder timer = Timer.builder(name)
+					.tag("method", joinPoint.getSignature().getName())
+					.tag("exception", exception);
+			if (key != null) {
+				timer.tag(key, value);
+			}
+			sample.stop(timer.register(meterRegistry));
+		}
+	}
+
+	private static String repositoryName(Object proxy) {
+		for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(proxy)) {
+			if (type.getName().startsWith("com.asuprojects.")) {
+				return type.getSimpleName();
+			}
+		}
+		return proxy.getClass().getSimpleName();
+	}
+
+}
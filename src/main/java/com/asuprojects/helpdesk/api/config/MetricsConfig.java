@@ -0,0 +1,38 @@
+package com.asuprojects.helpdesk.api.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.asuprojects.helpdesk.api.repository.CountingDbRefResolver;
+import com.mongodb.MongoClientOptions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MetricsConfig {
+
+	@Bean
+	public MongoClientOptions mongoClientOptions(MeterRegistry meterRegistry) {
+		return MongoClientOptions.builder()
+				.addCommandListener(new MongoCommandMetrics(meterRegistry))
+				.build();
+	}
+
+	/*
+	 * Same converter as the one Spring Boot configures, with a resolver that counts every
+	 * DBRef it has to fetch.
+	 */
+	@Bean
+	public MappingMongoConverter mappingMongoConverter(MongoDbFactory mongoDbFactory, MongoMappingContext mappingContext,
+			MongoCustomConversions conversions, MeterRegistry meterRegistry) {
+		MappingMongoConverter converter = new MappingMongoConverter(
+				new CountingDbRefResolver(mongoDbFactory, meterRegistry), mappingContext);
+		converter.setCustomConversions(conversions);
+		return converter;
+	}
+
+}
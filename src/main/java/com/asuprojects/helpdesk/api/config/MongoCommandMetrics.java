@@ -0,0 +1,66 @@
+package com.asuprojects.helpdesk.api.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/*
+ * Records the server round trip of every command sent by the blocking driver, tagged with
+ * the command and the collection it ran against.
+ */
+public class MongoCommandMetrics implements CommandListener {
+
+	private final MeterRegistry meterRegistry;
+
+	private final Map<Integer, String> collections = new ConcurrentHashMap<>();
+
+	public MongoCommandMetrics(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public void commandStarted(CommandStartedEvent event) {
+		collections.put(event.getRequestId(), collectionOf(event.getCommandName(), event.getCommand()));
+	}
+
+	@Override
+	public void commandSucceeded(CommandSucceededEvent event) {
+		record(event.getRequestId(), event.getCommandName(), "success", event.getElapsedTime(TimeUnit.NANOSECONDS));
+	}
+
+	@Override
+	public void commandFailed(CommandFailedEvent event) {
+		record(event.getRequestId(), event.getCommandName(), "failed", event.getElapsedTime(TimeUnit.NANOSECONDS));
+	}
+
+	private void record(int requestId, String command, String status, long elapsed) {
+		String collection = collections.remove(requestId);
+		Timer.builder("mongodb.driver.commands")
+				.tag("command", command)
+				.tag("collection", collection == null ? "unknown" : collection)
+				.tag("status", status)
+				.register(meterRegistry)
+				.record(elapsed, TimeUnit.NANOSECONDS);
+	}
+
+	/* getMore names the collection in its own field, the other commands in the first one */
+	private static String collectionOf(String commandName, BsonDocument command) {
+		BsonValue value = command.get(commandName);
+		if (value == null || !value.isString()) {
+			value = command.get("collection");
+		}
+		return value != null && value.isString() ? value.asString().getValue() : "unknown";
+	}
+
+}
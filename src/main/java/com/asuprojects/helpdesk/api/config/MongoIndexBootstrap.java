@@ -0,0 +1,138 @@
+package com.asuprojects.helpdesk.api.config;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver.IndexDefinitionHolder;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.util.ClassTypeInformation;
+import org.springframework.stereotype.Component;
+
+import com.asuprojects.helpdesk.api.entity.ChangeStatus;
+import com.asuprojects.helpdesk.api.entity.RevokedToken;
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.service.TicketNumberService;
+
+@Component
+public class MongoIndexBootstrap {
+
+	private final Log logger = LogFactory.getLog(this.getClass());
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Autowired
+	private MongoMappingContext mappingContext;
+
+	@Autowired
+	private TicketNumberService ticketNumberService;
+
+	@Value("${mongo.index.explain}")
+	private boolean explain;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		ensureIndexes();
+		ensureUniqueTicketNumber();
+		if (explain) {
+			explainRepositoryQueries();
+		}
+	}
+
+	public void ensureIndexes() {
+		MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+		for (Class<?> type : Arrays.asList(Ticket.class, ChangeStatus.class, User.class, RevokedToken.class)) {
+			IndexOperations indexOperations = mongoTemplate.indexOps(type);
+			for (IndexDefinitionHolder holder : resolver.resolveIndexFor(ClassTypeInformation.from(type))) {
+				indexOperations.ensureIndex(holder);
+				logger.info("Index ensured on " + holder.getCollection() + ": " + holder.getIndexKeys().toJson());
+			}
+		}
+	}
+
+	/*
+	 * Numbers used to be random, so duplicates are renumbered before the unique index is built;
+	 * the non-unique index of earlier versions shares the name and is dropped first.
+	 */
+	public void ensureUniqueTicketNumber() {
+		ticketNumberService.renumberDuplicates();
+		IndexOperations indexOperations = mongoTemplate.indexOps(Ticket.class);
+		for (IndexInfo info : indexOperations.getIndexInfo()) {
+			if ("number".equals(info.getName()) && !info.isUnique()) {
+				indexOperations.dropIndex(info.getName());
+			}
+		}
+		indexOperations.ensureIndex(new Index().on("number", Direction.ASC).unique().sparse().named("number"));
+	}
+
+	public void explainRepositoryQueries() {
+		ObjectId sampleId = new ObjectId();
+		Document byDate = new Document("date", -1);
+		Document byParameters = new Document("status", "New").append("priority", "High");
+
+		explain("TicketService.findByCurrentUser", Ticket.class,
+				new Document("user.$id", sampleId), byDate);
+		explain("TicketService.findByParameters", Ticket.class,
+				byParameters, byDate);
+		explain("TicketService.findByParametersAndCurrentUser", Ticket.class,
+				new Document(byParameters).append("user.$id", sampleId), byDate);
+		explain("TicketService.findByParameterAndAssignedUser", Ticket.class,
+				new Document(byParameters).append("assignedUser.$id", sampleId), byDate);
+		explain("TicketService.findByNumber", Ticket.class, new Document("number", 1), null);
+		explain("TicketService.listChangeStatus", ChangeStatus.class,
+				new Document("ticket.$id", sampleId), new Document("dateChangeStatus", -1));
+		explain("UserRepository.findByEmail", User.class, new Document("email", "sample@helpdesk"), null);
+	}
+
+	private void explain(String method, Class<?> type, Document filter, Document sort) {
+		try {
+			Document find = new Document("find", mongoTemplate.getCollectionName(type)).append("filter", filter);
+			if (sort != null) {
+				find.append("sort", sort);
+			}
+			Document result = mongoTemplate.getDb()
+					.runCommand(new Document("explain", find).append("verbosity", "queryPlanner"));
+			Document winningPlan = (Document) ((Document) result.get("queryPlanner")).get("winningPlan");
+			Set<String> stages = new LinkedHashSet<>();
+			collectStages(winningPlan, stages);
+			if (stages.contains("COLLSCAN") || stages.contains("SORT")) {
+				logger.warn("Query plan for " + method + " is not covered by an index: " + stages);
+			} else {
+				logger.info("Query plan for " + method + ": " + stages);
+			}
+		} catch (Exception e) {
+			logger.warn("Could not explain " + method + ": " + e.getMessage());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void collectStages(Document plan, Set<String> stages) {
+		if (plan == null) {
+			return;
+		}
+		stages.add(plan.getString("stage"));
+		collectStages((Document) plan.get("inputStage"), stages);
+		List<Document> inputStages = (List<Document>) plan.get("inputStages");
+		if (inputStages != null) {
+			inputStages.forEach(stage -> collectStages(stage, stages));
+		}
+	}
+
+}
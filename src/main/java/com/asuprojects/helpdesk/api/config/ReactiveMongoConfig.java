@@ -0,0 +1,37 @@
+package com.asuprojects.helpdesk.api.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+import com.asuprojects.helpdesk.api.repository.reactive.ReactiveTicketRepository;
+
+@Configuration
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@EnableReactiveMongoRepositories(basePackageClasses = ReactiveTicketRepository.class)
+public class ReactiveMongoConfig {
+
+	/*
+	 * Tickets and history rows keep their DBRef fields, which the reactive converter cannot
+	 * write. This converter only creates references and lazy proxies; the reactive services
+	 * replace the proxies with the embedded user summaries, so none is ever resolved.
+	 */
+	@Bean
+	public ReactiveMongoTemplate reactiveMongoTemplate(ReactiveMongoDatabaseFactory reactiveMongoDatabaseFactory,
+			MongoDbFactory mongoDbFactory, MongoMappingContext mappingContext, MongoCustomConversions conversions) {
+		MappingMongoConverter converter = new MappingMongoConverter(new DefaultDbRefResolver(mongoDbFactory), mappingContext);
+		converter.setCustomConversions(conversions);
+		converter.afterPropertiesSet();
+		return new ReactiveMongoTemplate(reactiveMongoDatabaseFactory, converter);
+	}
+
+}
@@ -0,0 +1,171 @@
+package com.asuprojects.helpdesk.api.config;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Component;
+
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.entity.UserSummary;
+import com.asuprojects.helpdesk.api.service.AttachmentService;
+import com.asuprojects.helpdesk.api.service.UserReferenceLoader;
+import com.mongodb.DBRef;
+
+@Component
+public class TicketMigrations {
+
+	private static final int BATCH_SIZE = 500;
+
+	private final Log logger = LogFactory.getLog(this.getClass());
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Autowired
+	private UserReferenceLoader userReferenceLoader;
+
+	@Autowired
+	private AttachmentService attachmentService;
+
+	@PostConstruct
+	public void init() {
+		backfillVersions();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		backfillUserSummaries();
+		moveInlineImages();
+	}
+
+	/*
+	 * Versioned saves of a document without a version are treated as inserts, so tickets
+	 * written before the version field existed get one before any request is served.
+	 */
+	public void backfillVersions() {
+		Query query = new Query(Criteria.where("version").exists(false));
+		long migrated = mongoTemplate.updateMulti(query, Update.update("version", 0L), Ticket.class).getModifiedCount();
+		if (migrated > 0) {
+			logger.info("Version added to " + migrated + " tickets");
+		}
+	}
+
+	public void backfillUserSummaries() {
+		Query query = new Query(new Criteria().orOperator(
+				Criteria.where("user").exists(true).and("userSummary").exists(false),
+				Criteria.where("assignedUser").exists(true).and("assignedUserSummary").exists(false)));
+		query.fields().include("user").include("assignedUser");
+		String collection = mongoTemplate.getCollectionName(Ticket.class);
+		List<Document> batch = new ArrayList<>();
+		int migrated = 0;
+		try (CloseableIterator<Document> tickets = mongoTemplate.stream(query, Document.class, collection)) {
+			while (tickets.hasNext()) {
+				batch.add(tickets.next());
+				if (batch.size() == BATCH_SIZE) {
+					migrated += backfillUserSummaries(batch);
+					batch.clear();
+				}
+			}
+		}
+		if (!batch.isEmpty()) {
+			migrated += backfillUserSummaries(batch);
+		}
+		if (migrated > 0) {
+			logger.info("User summaries added to " + migrated + " tickets");
+		}
+	}
+
+	/*
+	 * Tickets are moved one at a time so only a single inline image is held in memory;
+	 * the update only applies while the image is still inline, otherwise the copy is dropped.
+	 */
+	public void moveInlineImages() {
+		Query query = new Query(Criteria.where("image").ne(null));
+		query.fields().include("image");
+		String collection = mongoTemplate.getCollectionName(Ticket.class);
+		int migrated = 0;
+		try (CloseableIterator<Document> tickets = mongoTemplate.stream(query, Document.class, collection)) {
+			while (tickets.hasNext()) {
+				Document ticket = tickets.next();
+				String imageId;
+				try {
+					imageId = attachmentService.storeDataUrl(ticket.getString("image"), "ticket-image");
+				} catch (RuntimeException e) {
+					logger.warn("Inline image of ticket " + ticket.get("_id") + " could not be moved: " + e.getMessage());
+					continue;
+				}
+				Query inline = new Query(Criteria.where("_id").is(ticket.get("_id")).and("image").is(ticket.getString("image")));
+				Update update = new Update().set("imageId", imageId).unset("image");
+				if (mongoTemplate.updateFirst(inline, update, Ticket.class).getModifiedCount() > 0) {
+					migrated++;
+				} else {
+					attachmentService.delete(imageId);
+				}
+			}
+		}
+		if (migrated > 0) {
+			logger.info("Inline images moved to GridFS for " + migrated + " tickets");
+		}
+	}
+
+	private int backfillUserSummaries(List<Document> tickets) {
+		Set<String> ids = new HashSet<>();
+		for (Document ticket : tickets) {
+			addId(ids, ticket.get("user"));
+			addId(ids, ticket.get("assignedUser"));
+		}
+		Map<String, User> users = userReferenceLoader.findUsers(ids);
+		BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, Ticket.class);
+		int updates = 0;
+		for (Document ticket : tickets) {
+			Update update = new Update();
+			User user = users.get(idOf(ticket.get("user")));
+			if (user != null) {
+				update.set("userSummary", new UserSummary(user));
+			}
+			User assignedUser = users.get(idOf(ticket.get("assignedUser")));
+			if (assignedUser != null) {
+				update.set("assignedUserSummary", new UserSummary(assignedUser));
+			}
+			if (!update.getUpdateObject().isEmpty()) {
+				bulk.updateOne(new Query(Criteria.where("_id").is(ticket.get("_id"))), update);
+				updates++;
+			}
+		}
+		if (updates > 0) {
+			bulk.execute();
+		}
+		return updates;
+	}
+
+	private void addId(Set<String> ids, Object reference) {
+		String id = idOf(reference);
+		if (id != null) {
+			ids.add(id);
+		}
+	}
+
+	private String idOf(Object reference) {
+		return reference instanceof DBRef ? ((DBRef) reference).getId().toString() : null;
+	}
+
+}
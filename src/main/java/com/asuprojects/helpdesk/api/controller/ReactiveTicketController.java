@@ -0,0 +1,286 @@
+package com.asuprojects.helpdesk.api.controller;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.asuprojects.helpdesk.api.dto.Summary;
+import com.asuprojects.helpdesk.api.dto.SummaryBreakdown;
+import com.asuprojects.helpdesk.api.dto.TicketListItem;
+import com.asuprojects.helpdesk.api.entity.ChangeStatus;
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.enums.ProfileEnum;
+import com.asuprojects.helpdesk.api.enums.StatusEnum;
+import com.asuprojects.helpdesk.api.response.Response;
+import com.asuprojects.helpdesk.api.security.jwt.ReactiveJwtAuthenticationFilter;
+import com.asuprojects.helpdesk.api.service.AttachmentService;
+import com.asuprojects.helpdesk.api.service.ReactiveTicketService;
+import com.asuprojects.helpdesk.api.service.SummaryService;
+import com.asuprojects.helpdesk.api.service.TicketNumberService;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@RestController
+@RequestMapping("/api/ticket")
+@CrossOrigin(value = "*")
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveTicketController {
+
+	@Autowired
+	private ReactiveTicketService ticketService;
+	
+	@Autowired
+	private SummaryService summaryService;
+	
+	@Autowired
+	private TicketNumberService ticketNumberService;
+	
+	@Autowired
+	private AttachmentService attachmentService;
+	
+	@PostMapping()
+	@PreAuthorize("hasAnyRole('CUSTOMER')")
+	public Mono<ResponseEntity<Response<Ticket>>> create(ServerWebExchange exchange, @RequestBody Ticket ticket){
+		if(ticket.getTitle() == null) {
+			return badRequest("No title information");
+		}
+		ticket.setStatus(StatusEnum.getStatus("New"));
+		ticket.setUser(userFromExchange(exchange));
+		ticket.setDate(new Date());
+		return generateNumber()
+				.flatMap(number -> {
+					ticket.setNumber(number);
+					return ticketService.createOrUpdate(ticket);
+				})
+				.map(this::ok)
+				.onErrorResume(e -> badRequest(e.getMessage()));
+	}
+	
+	@PutMapping
+	@PreAuthorize("hasAnyRole('CUSTOMER')")
+	public Mono<ResponseEntity<Response<Ticket>>> update(@RequestBody Ticket ticket){
+		if(ticket.getId() == null) {
+			return badRequest("No Id information");
+		}
+		if(ticket.getTitle() == null) {
+			return badRequest("No title information");
+		}
+		return ticketService.findById(ticket.getId())
+				.flatMap(ticketCurrent -> {
+					ticket.setStatus(ticketCurrent.getStatus());
+					ticket.setDate(ticketCurrent.getDate());
+					if(ticket.getVersion() == null) {
+						ticket.setVersion(ticketCurrent.getVersion());
+					}
+					ticket.setNumber(ticketCurrent.getNumber());
+					ticket.setImageId(ticketCurrent.getImageId());
+					ticket.setUser(ticketCurrent.getUser());
+					ticket.setUserSummary(ticketCurrent.getUserSummary());
+					if(ticket.getAssignedUser() != null) {
+						ticket.setAssignedUser(ticketCurrent.getAssignedUser());
+						ticket.setAssignedUserSummary(ticketCurrent.getAssignedUserSummary());
+					}
+					return ticketService.createOrUpdate(ticket);
+				})
+				.map(this::ok)
+				.defaultIfEmpty(ResponseEntity.ok(new Response<Ticket>()))
+				.onErrorResume(e -> badRequest(e.getMessage()));
+	}
+	
+	/*
+	 * Same headers as the servlet endpoint. The GridFS lookup runs on the elastic scheduler;
+	 * If-None-Match and Range requests are answered by WebFlux from the returned resource.
+	 */
+	@GetMapping(value = "{id}/image")
+	@PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+	public Mono<ResponseEntity<Resource>> findImage(@PathVariable("id") String id){
+		return ticketService.findImageId(id)
+				.flatMap(imageId -> blocking(() -> attachmentService.findById(imageId)))
+				.map(image -> ResponseEntity.ok()
+						.eTag(image.getId())
+						.cacheControl(CacheControl.noCache().cachePrivate())
+						.contentType(MediaType.parseMediaType(image.getContentType()))
+						.header("X-Content-Type-Options", "nosniff")
+						.<Resource>body(image))
+				.defaultIfEmpty(ResponseEntity.notFound().build());
+	}
+	
+	@PatchMapping(value = "{id}")
+	@PreAuthorize("hasAnyRole('CUSTOMER')")
+	public Mono<ResponseEntity<Response<Ticket>>> patch(@PathVariable("id") String id, @RequestBody Ticket ticket){
+		if(ticket.getVersion() == null) {
+			return badRequest("Version required");
+		}
+		return ticketService.patch(id, ticket)
+				.map(this::ok)
+				.switchIfEmpty(badRequest("Register not found for ID: " + id))
+				.onErrorResume(e -> badRequest(e.getMessage()));
+	}
+	
+	@GetMapping(value = "{id}")
+	@PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+	public Mono<ResponseEntity<Response<Ticket>>> findById(@PathVariable("id") String id){
+		return ticketService.findById(id)
+				.flatMap(ticket -> ticketService.listChangeStatus(ticket.getId()).collectList().map(changes -> {
+					ticket.setChanges(changes);
+					return ok(ticket);
+				}))
+				.switchIfEmpty(badRequest("Register not found for ID: " + id));
+	}
+	
+	@GetMapping(value = "{id}/history/{page}/{count}")
+	@PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+	public Mono<ResponseEntity<Response<Slice<ChangeStatus>>>> findHistory(@PathVariable("id") String id,
+			@PathVariable("page") int page, @PathVariable("count") int count){
+		return ticketService.listChangeStatus(id, page, count).map(this::ok);
+	}
+	
+	@DeleteMapping(value = "{id}")
+	@PreAuthorize("hasAnyRole('CUSTOMER')")
+	public Mono<ResponseEntity<Response<String>>> delete(@PathVariable("id") String id){
+		return ticketService.delete(id)
+				.map(removed -> ResponseEntity.ok(new Response<String>()))
+				.switchIfEmpty(badRequest("Register not found for Id: " + id));
+	}
+	
+	@GetMapping(value = "{page}/{count}")
+	@PreAuthorize("hasAnyRole('CUSTOMER', 'TECHNICIAN')")
+	public Mono<ResponseEntity<Response<Page<TicketListItem>>>> findAll(ServerWebExchange exchange,
+			@PathVariable("page") int page, @PathVariable("count") int count){
+		User userCurrent = userFromExchange(exchange);
+		Mono<Page<TicketListItem>> tickets = Mono.empty();
+		if(userCurrent.getProfile().equals(ProfileEnum.ROLE_TECHNICIAN)) {
+			tickets = ticketService.listTicket(page, count);
+		} else if (userCurrent.getProfile().equals(ProfileEnum.ROLE_CUSTOMER)) {
+			tickets = ticketService.findByCurrentUser(page, count, userCurrent.getId());
+		}
+		return tickets.map(this::ok).defaultIfEmpty(ResponseEntity.ok(new Response<Page<TicketListItem>>()));
+	}
+	
+	@GetMapping(value = "{page}/{count}/{number}/{title}/{status}/{priority}/{assigned}")
+	@PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+	public Mono<ResponseEntity<Response<Page<TicketListItem>>>> findByParams(ServerWebExchange exchange,
+			@PathVariable("page") int page, @PathVariable("count") int count,
+			@PathVariable("number") int number, @PathVariable("title") String title,
+			@PathVariable("status") String status, @PathVariable("priority") String priority,
+			@PathVariable("assigned") boolean assigned){
+		title = title.equals("uninformed") ? "" : title;
+		status = status.equals("uninformed") ? "" : status;
+		priority = priority.equals("uninformed") ? "" : priority;
+		Mono<Page<TicketListItem>> tickets = Mono.empty();
+		if(number > 0) {
+			tickets = ticketService.findByNumber(page, count, number);
+		} else {
+			User currentUser = userFromExchange(exchange);
+			if(currentUser.getProfile().equals(ProfileEnum.ROLE_TECHNICIAN)) {
+				if(assigned) {
+					tickets = ticketService.findByParameterAndAssignedUser(page, count, title, status, priority, currentUser.getId());
+				} else {
+					tickets = ticketService.findByParameters(page, count, title, status, priority);
+				}
+			} else if (currentUser.getProfile().equals(ProfileEnum.ROLE_CUSTOMER)) {
+				tickets = ticketService.findByParametersAndCurrentUser(page, count, title, status, priority, currentUser.getId());
+			}
+		}
+		return tickets.map(this::ok).defaultIfEmpty(ResponseEntity.ok(new Response<Page<TicketListItem>>()));
+	}
+	
+	@PutMapping(value = "{id}/{status}")
+	@PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+	public Mono<ResponseEntity<Response<Ticket>>> changeStatus(ServerWebExchange exchange,
+			@PathVariable("id") String id, @PathVariable("status") String status,
+			@RequestBody Ticket ticket){
+		if(status == null || status.equals("")) {
+			return badRequest("Status has no information");
+		}
+		StatusEnum expected = ticket == null ? null : ticket.getStatus();
+		if(expected == null) {
+			return badRequest("Expected status required");
+		}
+		return ticketService.changeStatus(id, expected, StatusEnum.getStatus(status), userFromExchange(exchange))
+				.map(this::ok)
+				.defaultIfEmpty(ResponseEntity.ok(new Response<Ticket>()))
+				.onErrorResume(e -> badRequest(e.getMessage()));
+	}
+	
+	@GetMapping("/summary")
+	public Mono<ResponseEntity<Response<Summary>>> findSummary(){
+		return Mono.just(ok(summaryService.getSummary()));
+	}
+	
+	@GetMapping("/summary/breakdown")
+	@PreAuthorize("hasAnyRole('ADMIN','TECHNICIAN')")
+	public Mono<ResponseEntity<Response<SummaryBreakdown>>> findSummaryBreakdown(){
+		return blocking(summaryService::getBreakdown).map(this::ok);
+	}
+	
+	@GetMapping("/summary/priority")
+	@PreAuthorize("hasAnyRole('ADMIN','TECHNICIAN')")
+	public Mono<ResponseEntity<Response<Map<String, Summary>>>> findSummaryByPriority(){
+		return blocking(summaryService::countByPriority).map(this::ok);
+	}
+	
+	@GetMapping("/summary/customer")
+	@PreAuthorize("hasAnyRole('ADMIN','TECHNICIAN')")
+	public Mono<ResponseEntity<Response<Map<String, Summary>>>> findSummaryByCustomer(){
+		return blocking(summaryService::countByUser).map(this::ok);
+	}
+	
+	@GetMapping("/summary/technician")
+	@PreAuthorize("hasAnyRole('ADMIN','TECHNICIAN')")
+	public Mono<ResponseEntity<Response<Map<String, Summary>>>> findSummaryByTechnician(){
+		return blocking(summaryService::countByAssignedUser).map(this::ok);
+	}
+
+	/* blocks only when a new block of numbers has to be leased */
+	private Mono<Integer> generateNumber() {
+		return blocking(ticketNumberService::next);
+	}
+
+	/* SummaryService, AttachmentService and TicketNumberService run on the blocking driver */
+	private <T> Mono<T> blocking(Callable<T> call) {
+		return Mono.fromCallable(call).subscribeOn(Schedulers.elastic());
+	}
+
+	private User userFromExchange(ServerWebExchange exchange) {
+		return exchange.getAttribute(ReactiveJwtAuthenticationFilter.CURRENT_USER);
+	}
+
+	private <T> ResponseEntity<Response<T>> ok(T data) {
+		Response<T> response = new Response<T>();
+		response.setData(data);
+		return ResponseEntity.ok(response);
+	}
+
+	private <T> Mono<ResponseEntity<Response<T>>> badRequest(String error) {
+		return Mono.fromSupplier(() -> {
+			Response<T> response = new Response<T>();
+			response.getErrors().add(error);
+			return ResponseEntity.badRequest().body(response);
+		});
+	}
+}
@@ -0,0 +1,130 @@
+package com.asuprojects.helpdesk.api.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.response.Response;
+import com.asuprojects.helpdesk.api.security.service.PrincipalCache;
+import com.asuprojects.helpdesk.api.security.service.TokenRevocationService;
+import com.asuprojects.helpdesk.api.service.ReactiveUserService;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@RestController
+@RequestMapping("/api/user")
+@CrossOrigin(origins = "*")
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveUserController {
+
+	@Autowired
+	private ReactiveUserService userService;
+	
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+	
+	@Autowired
+	private PrincipalCache principalCache;
+	
+	@Autowired
+	private TokenRevocationService tokenRevocationService;
+	
+	@PostMapping
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	public Mono<ResponseEntity<Response<User>>> create(@RequestBody User user){
+		if(user.getEmail() == null) {
+			return badRequest("Email not especificated.");
+		}
+		user.setId(null);
+		return encodePassword(user)
+				.flatMap(userService::createOrUpdate)
+				.map(this::ok)
+				.onErrorResume(DuplicateKeyException.class, e -> badRequest("Email already registered."))
+				.onErrorResume(e -> badRequest(e.getMessage()));
+	}
+	
+	@PutMapping
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	public Mono<ResponseEntity<Response<User>>> update(@RequestBody User user){
+		if(user.getId() == null) {
+			return badRequest("ID not especificated.");
+		}
+		if(user.getEmail() == null) {
+			return badRequest("Email not especificated.");
+		}
+		return encodePassword(user)
+				.flatMap(userService::createOrUpdate)
+				.doOnNext(principalCache::invalidate)
+				.flatMap(persisted -> revokeTokens(persisted.getId()).then(Mono.just(persisted)))
+				.map(this::ok)
+				.onErrorResume(e -> badRequest(e.getMessage()));
+	}
+	
+	@GetMapping(value = "{id}")
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	public Mono<ResponseEntity<Response<User>>> findById(@PathVariable("id") String id){
+		return userService.findById(id)
+				.map(this::ok)
+				.switchIfEmpty(badRequest("User not found for ID: " + id));
+	}
+	
+	@DeleteMapping(value = "{id}")
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	public Mono<ResponseEntity<Response<String>>> delete(@PathVariable("id") String id) {
+		return userService.findById(id)
+				.flatMap(user -> userService.delete(id)
+						.then(Mono.fromRunnable(() -> principalCache.invalidate(user)))
+						.then(revokeTokens(id))
+						.then(Mono.just(ResponseEntity.ok(new Response<String>()))))
+				.switchIfEmpty(badRequest("User not found"));
+	}
+	
+	@GetMapping(value = "{page}/{count}")
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	public Mono<ResponseEntity<Response<Page<User>>>> getAll(@PathVariable("page") int page, @PathVariable("count") int count){
+		return userService.findAll(page, count).map(this::ok);
+	}
+
+	/* bcrypt is CPU bound, so it is kept off the event loop */
+	/* tokens still carry the old profile, so everything issued before the change is revoked */
+	private Mono<Void> revokeTokens(String userId) {
+		return Mono.<Void>fromRunnable(() -> tokenRevocationService.revokeAll(userId)).subscribeOn(Schedulers.elastic());
+	}
+	
+	private Mono<User> encodePassword(User user) {
+		return Mono.fromCallable(() -> {
+			user.setPassword(passwordEncoder.encode(user.getPassword()));
+			return user;
+		}).subscribeOn(Schedulers.parallel());
+	}
+
+	private <T> ResponseEntity<Response<T>> ok(T data) {
+		Response<T> response = new Response<T>();
+		response.setData(data);
+		return ResponseEntity.ok(response);
+	}
+
+	private <T> Mono<ResponseEntity<Response<T>>> badRequest(String error) {
+		return Mono.fromSupplier(() -> {
+			Response<T> response = new Response<T>();
+			response.getErrors().add(error);
+			return ResponseEntity.badRequest().body(response);
+		});
+	}
+}
@@ -1,16 +1,24 @@
 package com.asuprojects.helpdesk.api.controller;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
 
 import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.BindingResult;
@@ -18,25 +26,45 @@ import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.asuprojects.helpdesk.api.dto.AttachmentResource;
+import com.asuprojects.helpdesk.api.dto.BulkItemResult;
+import com.asuprojects.helpdesk.api.dto.BulkTicketRequest;
+import com.asuprojects.helpdesk.api.dto.CursorSlice;
 import com.asuprojects.helpdesk.api.dto.Summary;
+import com.asuprojects.helpdesk.api.dto.SummaryBreakdown;
+import com.asuprojects.helpdesk.api.dto.TicketListItem;
+import com.asuprojects.helpdesk.api.dto.TicketSuggestion;
 import com.asuprojects.helpdesk.api.entity.ChangeStatus;
 import com.asuprojects.helpdesk.api.entity.Ticket;
 import com.asuprojects.helpdesk.api.entity.User;
 import com.asuprojects.helpdesk.api.enums.ProfileEnum;
 import com.asuprojects.helpdesk.api.enums.StatusEnum;
 import com.asuprojects.helpdesk.api.response.Response;
+import com.asuprojects.helpdesk.api.security.jwt.JwtAuthenticationTokenFilter;
 import com.asuprojects.helpdesk.api.security.jwt.JwtTokenUtil;
+import com.asuprojects.helpdesk.api.service.AttachmentService;
+import com.asuprojects.helpdesk.api.service.SummaryService;
+import com.asuprojects.helpdesk.api.service.TicketEventService;
+import com.asuprojects.helpdesk.api.service.TicketExportService;
+import com.asuprojects.helpdesk.api.service.TicketNumberService;
 import com.asuprojects.helpdesk.api.service.TicketService;
+import com.asuprojects.helpdesk.api.service.TicketTypeaheadService;
 import com.asuprojects.helpdesk.api.service.UserService;
 
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @RequestMapping("/api/ticket")
 @CrossOrigin(value = "*")
 public class TicketController {
@@ -50,6 +78,30 @@ public class TicketController {
 	@Autowired
 	private UserService userService;
 	
+	@Autowired
+	private SummaryService summaryService;
+	
+	@Autowired
+	private TicketNumberService ticketNumberService;
+	
+	@Autowired(required = false)
+	private TicketTypeaheadService typeaheadService;
+	
+	@Autowired
+	private AttachmentService attachmentService;
+	
+	@Autowired
+	private TicketExportService ticketExportService;
+	
+	@Autowired
+	private TicketEventService ticketEventService;
+	
+	@Value("${ticket.bulk.max-items}")
+	private int bulkMaxItems;
+	
+	@Value("${paging.cursor.max-count}")
+	private int cursorMaxCount;
+	
 	@PostMapping()
 	@PreAuthorize("hasAnyRole('CUSTOMER')")
 	public ResponseEntity<Response<Ticket>> create(HttpServletRequest request, @RequestBody Ticket ticket, BindingResult result){
@@ -89,10 +141,16 @@ public class TicketController {
 				Ticket ticketCurrent = optional.get();
 				ticket.setStatus(ticketCurrent.getStatus());
 				ticket.setDate(ticketCurrent.getDate());
-				ticket.setNumber(ticket.getNumber());
+				if(ticket.getVersion() == null) {
+					ticket.setVersion(ticketCurrent.getVersion());
+				}
+				ticket.setNumber(ticketCurrent.getNumber());
+				ticket.setImageId(ticketCurrent.getImageId());
 				ticket.setUser(ticketCurrent.getUser());
+				ticket.setUserSummary(ticketCurrent.getUserSummary());
 				if(ticket.getAssignedUser() != null) {
 					ticket.setAssignedUser(ticketCurrent.getAssignedUser());
+					ticket.setAssignedUserSummary(ticketCurrent.getAssignedUserSummary());
 				}
 				Ticket ticketPersisted = ticketService.createOrUpdate(ticket);
 				response.setData(ticketPersisted);
@@ -105,6 +163,48 @@ public class TicketController {
 		return ResponseEntity.ok(response);	
 	}
 	
+	/*
+	 * The file id doubles as the ETag, since a new image is always stored as a new file;
+	 * conditional and Range requests are answered by Spring from the returned resource.
+	 */
+	@GetMapping(value = "{id}/image")
+	@PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+	public ResponseEntity<Resource> findImage(@PathVariable("id") String id){
+		String imageId = ticketService.findImageId(id);
+		AttachmentResource image = imageId == null ? null : attachmentService.findById(imageId);
+		if(image == null) {
+			return ResponseEntity.notFound().build();
+		}
+		return ResponseEntity.ok()
+				.eTag(image.getId())
+				.cacheControl(CacheControl.noCache().cachePrivate())
+				.contentType(MediaType.parseMediaType(image.getContentType()))
+				.header("X-Content-Type-Options", "nosniff")
+				.body(image);
+	}
+	
+	@PatchMapping(value = "{id}")
+	@PreAuthorize("hasAnyRole('CUSTOMER')")
+	public ResponseEntity<Response<Ticket>> patch(@PathVariable("id") String id, @RequestBody Ticket ticket){
+		Response<Ticket> response = new Response<Ticket>();
+		if(ticket.getVersion() == null) {
+			response.getErrors().add("Version required");
+			return ResponseEntity.badRequest().body(response);
+		}
+		try {
+			Ticket ticketPersisted = ticketService.patch(id, ticket);
+			if(ticketPersisted == null) {
+				response.getErrors().add("Register not found for ID: " + id);
+				return ResponseEntity.badRequest().body(response);
+			}
+			response.setData(ticketPersisted);
+		} catch (Exception e) {
+			response.getErrors().add(e.getMessage());
+			return ResponseEntity.badRequest().body(response);
+		}
+		return ResponseEntity.ok(response);
+	}
+	
 	@GetMapping(value = "{id}")
 	@PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
 	public ResponseEntity<Response<Ticket>> findById(@PathVariable("id") String id){
@@ -113,12 +213,7 @@ public class TicketController {
 		if(optional.isPresent()) {
 			Ticket ticket = optional.get();
 			List<ChangeStatus> changes = new ArrayList<>();
-			Iterable<ChangeStatus> changesCurrent = ticketService.listChangeStatus(ticket.getId());
-			for (Iterator<ChangeStatus> iterator = changesCurrent.iterator(); iterator.hasNext();) {
-				ChangeStatus changeStatus = (ChangeStatus) iterator.next();
-				changeStatus.setTicket(null);
-				changes.add(changeStatus);
-			}
+			ticketService.listChangeStatus(ticket.getId()).forEach(changes::add);
 			ticket.setChanges(changes);
 			response.setData(ticket);
 		} else {
@@ -128,6 +223,15 @@ public class TicketController {
 		return ResponseEntity.ok(response);
 	}
 	
+	@GetMapping(value = "{id}/history/{page}/{count}")
+	@PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+	public ResponseEntity<Response<Slice<ChangeStatus>>> findHistory(@PathVariable("id") String id,
+			@PathVariable("page") int page, @PathVariable("count") int count){
+		Response<Slice<ChangeStatus>> response = new Response<Slice<ChangeStatus>>();
+		response.setData(ticketService.listChangeStatus(id, page, count));
+		return ResponseEntity.ok(response);
+	}
+	
 	@DeleteMapping(value = "{id}")
 	@PreAuthorize("hasAnyRole('CUSTOMER')")
 	public ResponseEntity<Response<String>> delete(@PathVariable("id") String id){
@@ -145,10 +249,10 @@ public class TicketController {
 	
 	@GetMapping(value = "{page}/{count}")
 	@PreAuthorize("hasAnyRole('CUSTOMER', 'TECHNICIAN')")
-	public ResponseEntity<Response<Page<Ticket>>> findAll(HttpServletRequest request, @PathVariable("page") int page,
+	public ResponseEntity<Response<Page<TicketListItem>>> findAll(HttpServletRequest request, @PathVariable("page") int page,
 			@PathVariable("count") int count){
-		Response<Page<Ticket>> response = new Response<Page<Ticket>>();
-		Page<Ticket> tickets = null;
+		Response<Page<TicketListItem>> response = new Response<Page<TicketListItem>>();
+		Page<TicketListItem> tickets = null;
 		User userCurrent = userFromRequest(request);
 		if(userCurrent.getProfile().equals(ProfileEnum.ROLE_TECHNICIAN)) {
 			tickets = ticketService.listTicket(page, count);
@@ -162,7 +266,7 @@ public class TicketController {
 	
 	@GetMapping(value = "{page}/{count}/{number}/{title}/{status}/{priority}/{assigned}")
 	@PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
-	public ResponseEntity<Response<Page<Ticket>>> findByParams(HttpServletRequest request,
+	public ResponseEntity<Response<Page<TicketListItem>>> findByParams(HttpServletRequest request,
 			@PathVariable("page") int page, @PathVariable("count") int count,
 			@PathVariable("number") int number, @PathVariable("title") String title,
 			@PathVariable("status") String status, @PathVariable("priority") String priority,
@@ -170,8 +274,8 @@ public class TicketController {
 		title = title.equals("uninformed") ? "" : title;
 		status = status.equals("uninformed") ? "" : status;
 		priority = priority.equals("uninformed") ? "" : priority;
-		Response<Page<Ticket>> response = new Response<Page<Ticket>>(); 
-		Page<Ticket> tickets = null;
+		Response<Page<TicketListItem>> response = new Response<Page<TicketListItem>>(); 
+		Page<TicketListItem> tickets = null;
 		if(number > 0) {
 			tickets = ticketService.findByNumber(page, count, number);
 		} else {
@@ -191,6 +295,109 @@ public class TicketController {
 		
 	}
 	
+	@GetMapping(value = "cursor/{count}")
+	@PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+	public ResponseEntity<Response<CursorSlice<TicketListItem>>> findByCursor(HttpServletRequest request,
+			@PathVariable("count") int count,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "title", required = false) String title,
+			@RequestParam(value = "status", required = false) String status,
+			@RequestParam(value = "priority", required = false) String priority,
+			@RequestParam(value = "assigned", defaultValue = "false") boolean assigned,
+			@RequestParam(value = "total", defaultValue = "false") boolean total){
+		Response<CursorSlice<TicketListItem>> response = new Response<CursorSlice<TicketListItem>>();
+		if(count < 1) {
+			response.getErrors().add("Count must be at least 1");
+			return ResponseEntity.badRequest().body(response);
+		}
+		int limit = Math.min(count, cursorMaxCount);
+		try {
+			CursorSlice<TicketListItem> tickets = null;
+			User currentUser = userFromRequest(request);
+			if(currentUser.getProfile().equals(ProfileEnum.ROLE_TECHNICIAN)) {
+				String assignedUser = assigned ? currentUser.getId() : null;
+				tickets = ticketService.findByCursor(cursor, limit, title, status, priority, null, assignedUser, total);
+			} else if (currentUser.getProfile().equals(ProfileEnum.ROLE_CUSTOMER)) {
+				tickets = ticketService.findByCursor(cursor, limit, title, status, priority, currentUser.getId(), null, total);
+			}
+			response.setData(tickets);
+		} catch (IllegalArgumentException e) {
+			response.getErrors().add(e.getMessage());
+			return ResponseEntity.badRequest().body(response);
+		}
+		return ResponseEntity.ok(response);
+	}
+	
+	@GetMapping(value = "search/{page}/{count}")
+	@PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+	public ResponseEntity<Response<Page<TicketListItem>>> search(HttpServletRequest request,
+			@PathVariable("page") int page, @PathVariable("count") int count,
+			@RequestParam("text") String text,
+			@RequestParam(value = "status", required = false) String status,
+			@RequestParam(value = "priority", required = false) String priority,
+			@RequestParam(value = "assigned", defaultValue = "false") boolean assigned){
+		Response<Page<TicketListItem>> response = new Response<Page<TicketListItem>>();
+		Page<TicketListItem> tickets = null;
+		User currentUser = userFromRequest(request);
+		if(currentUser.getProfile().equals(ProfileEnum.ROLE_TECHNICIAN)) {
+			String assignedUser = assigned ? currentUser.getId() : null;
+			tickets = ticketService.search(page, count, text, status, priority, null, assignedUser);
+		} else if (currentUser.getProfile().equals(ProfileEnum.ROLE_CUSTOMER)) {
+			tickets = ticketService.search(page, count, text, status, priority, currentUser.getId(), null);
+		}
+		response.setData(tickets);
+		return ResponseEntity.ok(response);
+	}
+	
+	@GetMapping(value = "export")
+	@PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+	public ResponseEntity<StreamingResponseBody> export(HttpServletRequest request,
+			@RequestParam(value = "format", defaultValue = TicketExportService.NDJSON) String format,
+			@RequestParam(value = "title", required = false) String title,
+			@RequestParam(value = "status", required = false) String status,
+			@RequestParam(value = "priority", required = false) String priority,
+			@RequestParam(value = "assigned", defaultValue = "false") boolean assigned){
+		MediaType mediaType;
+		if(TicketExportService.CSV.equals(format)) {
+			mediaType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+		} else if(TicketExportService.NDJSON.equals(format)) {
+			mediaType = new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+		} else {
+			return ResponseEntity.badRequest().build();
+		}
+		User currentUser = userFromRequest(request);
+		String userId = currentUser.getProfile().equals(ProfileEnum.ROLE_CUSTOMER) ? currentUser.getId() : null;
+		String assignedUser = assigned && currentUser.getProfile().equals(ProfileEnum.ROLE_TECHNICIAN) ? currentUser.getId() : null;
+		StreamingResponseBody body = output -> ticketExportService.export(output, format, title, status, priority,
+				userId, assignedUser);
+		return ResponseEntity.ok()
+				.contentType(mediaType)
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tickets." + format + "\"")
+				.body(body);
+	}
+	
+	@GetMapping(value = "events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+	public SseEmitter events(HttpServletRequest request,
+			@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId){
+		return ticketEventService.subscribe(userFromRequest(request), lastEventId);
+	}
+	
+	@GetMapping(value = "typeahead")
+	@PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+	public ResponseEntity<Response<List<TicketSuggestion>>> typeahead(HttpServletRequest request,
+			@RequestParam("term") String term, @RequestParam(value = "limit", defaultValue = "10") int limit){
+		Response<List<TicketSuggestion>> response = new Response<List<TicketSuggestion>>();
+		if(typeaheadService == null) {
+			response.getErrors().add("Typeahead is disabled");
+			return ResponseEntity.badRequest().body(response);
+		}
+		User currentUser = userFromRequest(request);
+		String userId = currentUser.getProfile().equals(ProfileEnum.ROLE_CUSTOMER) ? currentUser.getId() : null;
+		response.setData(typeaheadService.suggest(term, userId, limit));
+		return ResponseEntity.ok(response);
+	}
+	
 	@PutMapping(value = "{id}/{status}")
 	@PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
 	public ResponseEntity<Response<Ticket>> changeStatus(HttpServletRequest request,
@@ -203,22 +410,14 @@ public class TicketController {
 				result.getAllErrors().forEach(error -> response.getErrors().add(error.getDefaultMessage()));
 				return ResponseEntity.badRequest().body(response);
 			}
-			Optional<Ticket> optional = ticketService.findById(id);
-			if(optional.isPresent()) {
-				Ticket ticketCurrent = optional.get();
-				ticketCurrent.setStatus(StatusEnum.getStatus(status));
-				if(status.equals("Assigned")) {
-					ticketCurrent.setAssignedUser(userFromRequest(request));
-				}
-				Ticket ticketPersisted = ticketService.createOrUpdate(ticketCurrent);
-				ChangeStatus changeStatus = new ChangeStatus();
-				changeStatus.setUserChange(userFromRequest(request));
-				changeStatus.setDateChangeStatus(new Date());
-				changeStatus.setStatus(StatusEnum.getStatus(status));
-				changeStatus.setTicket(ticketPersisted);
-				ticketService.createChangeStatus(changeStatus);
-				response.setData(ticketPersisted);
+			StatusEnum expected = ticket == null ? null : ticket.getStatus();
+			if(expected == null) {
+				response.getErrors().add("Expected status required");
+				return ResponseEntity.badRequest().body(response);
 			}
+			Ticket ticketPersisted = ticketService.changeStatus(id, expected, StatusEnum.getStatus(status),
+					userFromRequest(request));
+			response.setData(ticketPersisted);
 		} catch (Exception e) {
 			response.getErrors().add(e.getMessage());
 			return ResponseEntity.badRequest().body(response);
@@ -226,47 +425,106 @@ public class TicketController {
 		return ResponseEntity.ok(response);
 	}
 	
+	@PostMapping(value = "bulk")
+	@PreAuthorize("hasAnyRole('CUSTOMER')")
+	public ResponseEntity<Response<List<BulkItemResult>>> createAll(HttpServletRequest request,
+			@RequestBody List<Ticket> tickets){
+		Response<List<BulkItemResult>> response = new Response<List<BulkItemResult>>();
+		if(!validateBulkSize(tickets, response)) {
+			return ResponseEntity.badRequest().body(response);
+		}
+		response.setData(ticketService.createAll(tickets, userFromRequest(request)));
+		return ResponseEntity.ok(response);
+	}
+	
+	@PutMapping(value = "bulk/status")
+	@PreAuthorize("hasAnyRole('CUSTOMER','TECHNICIAN')")
+	public ResponseEntity<Response<List<BulkItemResult>>> changeStatusAll(HttpServletRequest request,
+			@RequestBody BulkTicketRequest bulk){
+		Response<List<BulkItemResult>> response = new Response<List<BulkItemResult>>();
+		if(!validateBulkSize(bulk.getIds(), response)) {
+			return ResponseEntity.badRequest().body(response);
+		}
+		if(bulk.getStatus() == null || bulk.getStatus().equals("")) {
+			response.getErrors().add("Status has no information");
+			return ResponseEntity.badRequest().body(response);
+		}
+		User currentUser = userFromRequest(request);
+		StatusEnum status = StatusEnum.getStatus(bulk.getStatus());
+		User assignedUser = status == StatusEnum.Assigned ? currentUser : null;
+		response.setData(ticketService.changeStatus(bulk.getIds(), status, assignedUser, currentUser));
+		return ResponseEntity.ok(response);
+	}
+	
+	@PutMapping(value = "bulk/assign")
+	@PreAuthorize("hasAnyRole('TECHNICIAN')")
+	public ResponseEntity<Response<List<BulkItemResult>>> assignAll(HttpServletRequest request,
+			@RequestBody BulkTicketRequest bulk){
+		Response<List<BulkItemResult>> response = new Response<List<BulkItemResult>>();
+		if(!validateBulkSize(bulk.getIds(), response)) {
+			return ResponseEntity.badRequest().body(response);
+		}
+		User currentUser = userFromRequest(request);
+		User assignedUser = currentUser;
+		if(bulk.getUserId() != null && !bulk.getUserId().equals(currentUser.getId())) {
+			Optional<User> optional = userService.findById(bulk.getUserId());
+			if(!optional.isPresent() || !ProfileEnum.ROLE_TECHNICIAN.equals(optional.get().getProfile())) {
+				response.getErrors().add("Technician not found for ID: " + bulk.getUserId());
+				return ResponseEntity.badRequest().body(response);
+			}
+			assignedUser = optional.get();
+		}
+		response.setData(ticketService.changeStatus(bulk.getIds(), StatusEnum.Assigned, assignedUser, currentUser));
+		return ResponseEntity.ok(response);
+	}
+	
+	@PostMapping(value = "bulk/delete")
+	@PreAuthorize("hasAnyRole('CUSTOMER')")
+	public ResponseEntity<Response<List<BulkItemResult>>> deleteAll(@RequestBody BulkTicketRequest bulk){
+		Response<List<BulkItemResult>> response = new Response<List<BulkItemResult>>();
+		if(!validateBulkSize(bulk.getIds(), response)) {
+			return ResponseEntity.badRequest().body(response);
+		}
+		response.setData(ticketService.deleteAll(bulk.getIds()));
+		return ResponseEntity.ok(response);
+	}
+	
 	@GetMapping("/summary")
 	public ResponseEntity<Response<Summary>> findSummary(){
 		Response<Summary> response = new Response<Summary>();
-		Summary summary = new Summary();
-		int amountNew = 0;
-		int amountApproved = 0;
-		int amountDisapproved = 0;
-		int amountResolved = 0;
-		int amountAssigned = 0;
-		int amountClosed = 0;
-		
-		Iterable<Ticket> tickets = ticketService.findAll();
-		for (Iterator<Ticket> iterator = tickets.iterator(); iterator.hasNext();) {
-			Ticket ticket = iterator.next();
-			if(ticket.getStatus().equals(StatusEnum.New)) {
-				amountNew++;
-			}
-			if(ticket.getStatus().equals(StatusEnum.Approved)) {
-				amountApproved++;
-			}
-			if(ticket.getStatus().equals(StatusEnum.Disapproved)) {
-				amountDisapproved++;
-			}
-			if(ticket.getStatus().equals(StatusEnum.Resolved)) {
-				amountResolved++;
-			}
-			if(ticket.getStatus().equals(StatusEnum.Assigned)) {
-				amountAssigned++;
-			}
-			if(ticket.getStatus().equals(StatusEnum.Closed)) {
-				amountClosed++;
-			}
-			
-		}
-		summary.setAmountNew(amountNew);
-		summary.setAmountApproved(amountApproved);
-		summary.setAmountDisapproved(amountDisapproved);
-		summary.setAmountResolved(amountResolved);
-		summary.setAmountAssigned(amountAssigned);
-		summary.setAmountClosed(amountClosed);
-		response.setData(summary);
+		response.setData(summaryService.getSummary());
+		return ResponseEntity.ok(response);
+	}
+	
+	@GetMapping("/summary/breakdown")
+	@PreAuthorize("hasAnyRole('ADMIN','TECHNICIAN')")
+	public ResponseEntity<Response<SummaryBreakdown>> findSummaryBreakdown(){
+		Response<SummaryBreakdown> response = new Response<SummaryBreakdown>();
+		response.setData(summaryService.getBreakdown());
+		return ResponseEntity.ok(response);
+	}
+	
+	@GetMapping("/summary/priority")
+	@PreAuthorize("hasAnyRole('ADMIN','TECHNICIAN')")
+	public ResponseEntity<Response<Map<String, Summary>>> findSummaryByPriority(){
+		Response<Map<String, Summary>> response = new Response<Map<String, Summary>>();
+		response.setData(summaryService.countByPriority());
+		return ResponseEntity.ok(response);
+	}
+	
+	@GetMapping("/summary/customer")
+	@PreAuthorize("hasAnyRole('ADMIN','TECHNICIAN')")
+	public ResponseEntity<Response<Map<String, Summary>>> findSummaryByCustomer(){
+		Response<Map<String, Summary>> response = new Response<Map<String, Summary>>();
+		response.setData(summaryService.countByUser());
+		return ResponseEntity.ok(response);
+	}
+	
+	@GetMapping("/summary/technician")
+	@PreAuthorize("hasAnyRole('ADMIN','TECHNICIAN')")
+	public ResponseEntity<Response<Map<String, Summary>>> findSummaryByTechnician(){
+		Response<Map<String, Summary>> response = new Response<Map<String, Summary>>();
+		response.setData(summaryService.countByAssignedUser());
 		return ResponseEntity.ok(response);
 	}
 
@@ -280,6 +538,18 @@ public class TicketController {
 		}
 	}
 
+	private boolean validateBulkSize(List<?> items, Response<?> response) {
+		if(items == null || items.isEmpty()) {
+			response.getErrors().add("No items informed");
+			return false;
+		}
+		if(items.size() > bulkMaxItems) {
+			response.getErrors().add("At most " + bulkMaxItems + " items per request");
+			return false;
+		}
+		return true;
+	}
+
 	private void validateUpdateUser(Ticket ticket, BindingResult result) {
 		if(ticket.getId() == null) {
 			result.addError(new ObjectError("Ticket", "No Id information"));
@@ -292,12 +562,15 @@ public class TicketController {
 	}
 
 	private Integer generateNumber() {
-		Random random = new Random();
-		return random.nextInt(9999);
+		return ticketNumberService.next();
 	}
 
 
 	public User userFromRequest(HttpServletRequest request) {
+		User current = (User) request.getAttribute(JwtAuthenticationTokenFilter.CURRENT_USER);
+		if(current != null) {
+			return current;
+		}
 		String token = request.getHeader("Authorization");
 		String email = jwtTokenUtil.getUserNameFromToken(token);
 		User user = userService.findByEmail(email);
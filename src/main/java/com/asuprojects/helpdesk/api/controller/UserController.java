@@ -5,6 +5,9 @@ import java.util.Optional;
 import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
@@ -20,13 +23,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.asuprojects.helpdesk.api.dto.CursorSlice;
 import com.asuprojects.helpdesk.api.entity.User;
 import com.asuprojects.helpdesk.api.response.Response;
+import com.asuprojects.helpdesk.api.security.service.PrincipalCache;
+import com.asuprojects.helpdesk.api.security.service.TokenRevocationService;
 import com.asuprojects.helpdesk.api.service.UserService;
 
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @RequestMapping("/api/user")
 @CrossOrigin(origins = "*")
 public class UserController {
@@ -37,6 +45,15 @@ public class UserController {
 	@Autowired
 	private PasswordEncoder passwordEncoder;
 	
+	@Autowired
+	private PrincipalCache principalCache;
+	
+	@Autowired
+	private TokenRevocationService tokenRevocationService;
+	
+	@Value("${paging.cursor.max-count}")
+	private int cursorMaxCount;
+	
 	@PostMapping
 	@PreAuthorize("hasAnyRole('ADMIN')")
 	public ResponseEntity<Response<User>> create(HttpServletRequest request,@RequestBody User user, BindingResult result){
@@ -74,6 +91,8 @@ public class UserController {
 			}
 			user.setPassword(passwordEncoder.encode(user.getPassword()));
 			User userPersisted = userService.createOrUpdate(user);
+			principalCache.invalidate(userPersisted);
+			tokenRevocationService.revokeAll(userPersisted.getId());
 			response.setData(userPersisted);
 		} catch (Exception e) {
 			response.getErrors().add(e.getMessage());
@@ -106,6 +125,8 @@ public class UserController {
 			return ResponseEntity.badRequest().body(response);
 		}
 		userService.delete(id);
+		principalCache.invalidate(optional.get());
+		tokenRevocationService.revokeAll(id);
 		return ResponseEntity.ok(new Response<String>());
 	}
 	
@@ -119,6 +140,25 @@ public class UserController {
 		return ResponseEntity.ok(response);
 	}
 	
+	@GetMapping(value = "cursor/{count}")
+	@PreAuthorize("hasAnyRole('ADMIN')")
+	public ResponseEntity<Response<CursorSlice<User>>> getByCursor(@PathVariable("count") int count,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "total", defaultValue = "false") boolean total){
+		Response<CursorSlice<User>> response = new Response<CursorSlice<User>>();
+		if(count < 1) {
+			response.getErrors().add("Count must be at least 1");
+			return ResponseEntity.badRequest().body(response);
+		}
+		try {
+			response.setData(userService.findAll(cursor, Math.min(count, cursorMaxCount), total));
+		} catch (IllegalArgumentException e) {
+			response.getErrors().add(e.getMessage());
+			return ResponseEntity.badRequest().body(response);
+		}
+		return ResponseEntity.ok(response);
+	}
+	
 	
 	
 	private void validateCreateUser(User user, BindingResult result) {
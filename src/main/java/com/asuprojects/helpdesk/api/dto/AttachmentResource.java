@@ -0,0 +1,69 @@
+package com.asuprojects.helpdesk.api.dto;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.bson.types.ObjectId;
+import org.springframework.core.io.AbstractResource;
+
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.model.GridFSFile;
+
+/*
+ * Opens a new GridFS download stream on every call, so range requests can read the
+ * file more than once without buffering it.
+ */
+public class AttachmentResource extends AbstractResource {
+
+	/* raster types browsers render inertly; anything else is served as a download */
+	public static final Set<String> IMAGE_TYPES = Collections.unmodifiableSet(new HashSet<>(
+			Arrays.asList("image/png", "image/jpeg", "image/gif", "image/webp", "image/bmp")));
+
+	public static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+	private final GridFSBucket bucket;
+	private final GridFSFile file;
+
+	public AttachmentResource(GridFSBucket bucket, GridFSFile file) {
+		this.bucket = bucket;
+		this.file = file;
+	}
+
+	public String getId() {
+		return file.getObjectId().toHexString();
+	}
+
+	public String getContentType() {
+		String contentType = file.getMetadata() == null ? null : file.getMetadata().getString("contentType");
+		return IMAGE_TYPES.contains(contentType) ? contentType : DEFAULT_CONTENT_TYPE;
+	}
+
+	@Override
+	public String getFilename() {
+		return file.getFilename();
+	}
+
+	@Override
+	public long contentLength() {
+		return file.getLength();
+	}
+
+	@Override
+	public long lastModified() {
+		return file.getUploadDate().getTime();
+	}
+
+	@Override
+	public InputStream getInputStream() {
+		return bucket.openDownloadStream(new ObjectId(getId()));
+	}
+
+	@Override
+	public String getDescription() {
+		return "GridFS file [" + getId() + "]";
+	}
+
+}
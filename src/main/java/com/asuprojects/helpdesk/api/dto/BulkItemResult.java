@@ -0,0 +1,51 @@
+package com.asuprojects.helpdesk.api.dto;
+
+import java.io.Serializable;
+
+public class BulkItemResult implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private String id;
+	private boolean success;
+	private String error;
+
+	public BulkItemResult(String id, boolean success, String error) {
+		this.id = id;
+		this.success = success;
+		this.error = error;
+	}
+
+	public static BulkItemResult ok(String id) {
+		return new BulkItemResult(id, true, null);
+	}
+
+	public static BulkItemResult failed(String id, String error) {
+		return new BulkItemResult(id, false, error);
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public boolean isSuccess() {
+		return success;
+	}
+
+	public void setSuccess(boolean success) {
+		this.success = success;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+
+}
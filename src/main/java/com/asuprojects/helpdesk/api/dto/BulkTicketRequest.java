@@ -0,0 +1,38 @@
+package com.asuprojects.helpdesk.api.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class BulkTicketRequest implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private List<String> ids;
+	private String status;
+	private String userId;
+
+	public List<String> getIds() {
+		return ids;
+	}
+
+	public void setIds(List<String> ids) {
+		this.ids = ids;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public String getUserId() {
+		return userId;
+	}
+
+	public void setUserId(String userId) {
+		this.userId = userId;
+	}
+
+}
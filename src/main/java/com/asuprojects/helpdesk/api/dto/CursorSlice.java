@@ -0,0 +1,29 @@
+package com.asuprojects.helpdesk.api.dto;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+public class CursorSlice<T> extends SliceImpl<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String nextCursor;
+	private final Long total;
+
+	public CursorSlice(List<T> content, Pageable pageable, String nextCursor, Long total) {
+		super(content, pageable, nextCursor != null);
+		this.nextCursor = nextCursor;
+		this.total = total;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public Long getTotal() {
+		return total;
+	}
+
+}
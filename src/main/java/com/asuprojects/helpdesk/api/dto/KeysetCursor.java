@@ -0,0 +1,49 @@
+package com.asuprojects.helpdesk.api.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import org.bson.types.ObjectId;
+
+public class KeysetCursor {
+
+	private static final String SEPARATOR = ":";
+
+	private final Date date;
+	private final String id;
+
+	public KeysetCursor(Date date, String id) {
+		this.date = date;
+		this.id = id;
+	}
+
+	public Date getDate() {
+		return date;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public String encode() {
+		String value = (date == null ? "" : String.valueOf(date.getTime())) + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static KeysetCursor decode(String cursor) {
+		try {
+			String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separator = value.indexOf(SEPARATOR);
+			String date = value.substring(0, separator);
+			String id = value.substring(separator + 1);
+			if (!ObjectId.isValid(id)) {
+				throw new IllegalArgumentException();
+			}
+			return new KeysetCursor(date.isEmpty() ? null : new Date(Long.parseLong(date)), id);
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Invalid cursor: " + cursor);
+		}
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.asuprojects.helpdesk.api.dto;
+
+import java.io.Serializable;
+import java.util.Map;
+
+public class SummaryBreakdown implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private Summary total;
+	private Map<String, Summary> byPriority;
+	private Map<String, Summary> byUser;
+	private Map<String, Summary> byAssignedUser;
+
+	public Summary getTotal() {
+		return total;
+	}
+
+	public void setTotal(Summary total) {
+		this.total = total;
+	}
+
+	public Map<String, Summary> getByPriority() {
+		return byPriority;
+	}
+
+	public void setByPriority(Map<String, Summary> byPriority) {
+		this.byPriority = byPriority;
+	}
+
+	public Map<String, Summary> getByUser() {
+		return byUser;
+	}
+
+	public void setByUser(Map<String, Summary> byUser) {
+		this.byUser = byUser;
+	}
+
+	public Map<String, Summary> getByAssignedUser() {
+		return byAssignedUser;
+	}
+
+	public void setByAssignedUser(Map<String, Summary> byAssignedUser) {
+		this.byAssignedUser = byAssignedUser;
+	}
+
+}
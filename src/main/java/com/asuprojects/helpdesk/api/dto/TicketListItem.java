@@ -0,0 +1,99 @@
+package com.asuprojects.helpdesk.api.dto;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.entity.UserSummary;
+import com.asuprojects.helpdesk.api.enums.PriorityEnum;
+import com.asuprojects.helpdesk.api.enums.StatusEnum;
+
+/*
+ * The columns shown by the ticket grid; the assignee comes from the summary embedded
+ * in the ticket, so listing never resolves the user reference.
+ */
+public class TicketListItem implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private String id;
+	private Integer number;
+	private String title;
+	private StatusEnum status;
+	private PriorityEnum priority;
+	private Date date;
+
+	@Field("assignedUserSummary")
+	private UserSummary assignedUser;
+
+	public static TicketListItem of(Ticket ticket) {
+		TicketListItem item = new TicketListItem();
+		item.setId(ticket.getId());
+		item.setNumber(ticket.getNumber());
+		item.setTitle(ticket.getTitle());
+		item.setStatus(ticket.getStatus());
+		item.setPriority(ticket.getPriority());
+		item.setDate(ticket.getDate());
+		item.setAssignedUser(ticket.getAssignedUserSummary());
+		return item;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public Integer getNumber() {
+		return number;
+	}
+
+	public void setNumber(Integer number) {
+		this.number = number;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public StatusEnum getStatus() {
+		return status;
+	}
+
+	public void setStatus(StatusEnum status) {
+		this.status = status;
+	}
+
+	public PriorityEnum getPriority() {
+		return priority;
+	}
+
+	public void setPriority(PriorityEnum priority) {
+		this.priority = priority;
+	}
+
+	public Date getDate() {
+		return date;
+	}
+
+	public void setDate(Date date) {
+		this.date = date;
+	}
+
+	public UserSummary getAssignedUser() {
+		return assignedUser;
+	}
+
+	public void setAssignedUser(UserSummary assignedUser) {
+		this.assignedUser = assignedUser;
+	}
+
+}
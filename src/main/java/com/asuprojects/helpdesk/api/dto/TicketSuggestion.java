@@ -0,0 +1,43 @@
+package com.asuprojects.helpdesk.api.dto;
+
+import java.io.Serializable;
+
+public class TicketSuggestion implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private String id;
+	private Integer number;
+	private String title;
+
+	public TicketSuggestion(String id, Integer number, String title) {
+		this.id = id;
+		this.number = number;
+		this.title = title;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public Integer getNumber() {
+		return number;
+	}
+
+	public void setNumber(Integer number) {
+		this.number = number;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+}
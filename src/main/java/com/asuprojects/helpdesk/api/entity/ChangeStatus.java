@@ -3,12 +3,17 @@ package com.asuprojects.helpdesk.api.entity;
 import java.util.Date;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import com.asuprojects.helpdesk.api.enums.StatusEnum;
 
 @Document
+@CompoundIndexes({
+	@CompoundIndex(name = "ticket_dateChangeStatus", def = "{'ticket.$id': 1, 'dateChangeStatus': -1}")
+})
 public class ChangeStatus {
 
 	@Id
@@ -20,10 +25,20 @@ public class ChangeStatus {
 	@DBRef
 	private User userChange;
 
+	private UserSummary userChangeSummary;
+
 	private Date dateChangeStatus;
 
 	private StatusEnum status;
 
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
 	public Ticket getTicket() {
 		return ticket;
 	}
@@ -40,6 +55,14 @@ public class ChangeStatus {
 		this.userChange = userChange;
 	}
 
+	public UserSummary getUserChangeSummary() {
+		return userChangeSummary;
+	}
+
+	public void setUserChangeSummary(UserSummary userChangeSummary) {
+		this.userChangeSummary = userChangeSummary;
+	}
+
 	public Date getDateChangeStatus() {
 		return dateChangeStatus;
 	}
@@ -0,0 +1,38 @@
+package com.asuprojects.helpdesk.api.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document
+public class Counter {
+
+	@Id
+	private String id;
+
+	private Long seq;
+
+	public Counter() {
+	}
+
+	public Counter(String id, Long seq) {
+		this.id = id;
+		this.seq = seq;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public Long getSeq() {
+		return seq;
+	}
+
+	public void setSeq(Long seq) {
+		this.seq = seq;
+	}
+
+}
@@ -0,0 +1,81 @@
+package com.asuprojects.helpdesk.api.entity;
+
+import java.util.Date;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/*
+ * A revoked token (id is the token's jti) or, when notBefore is set, every token of userId
+ * issued before that instant. Entries are removed by the TTL index once no token they cover
+ * can still be valid.
+ */
+@Document
+public class RevokedToken {
+
+	@Id
+	private String id;
+
+	private String userId;
+
+	private Date notBefore;
+
+	@Indexed
+	private Date created;
+
+	@Indexed(expireAfterSeconds = 0)
+	private Date expiresAt;
+
+	public RevokedToken() {
+	}
+
+	public RevokedToken(String id, String userId, Date notBefore, Date expiresAt) {
+		this.id = id;
+		this.userId = userId;
+		this.notBefore = notBefore;
+		this.created = new Date();
+		this.expiresAt = expiresAt;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public String getUserId() {
+		return userId;
+	}
+
+	public void setUserId(String userId) {
+		this.userId = userId;
+	}
+
+	public Date getNotBefore() {
+		return notBefore;
+	}
+
+	public void setNotBefore(Date notBefore) {
+		this.notBefore = notBefore;
+	}
+
+	public Date getCreated() {
+		return created;
+	}
+
+	public void setCreated(Date created) {
+		this.created = created;
+	}
+
+	public Date getExpiresAt() {
+		return expiresAt;
+	}
+
+	public void setExpiresAt(Date expiresAt) {
+		this.expiresAt = expiresAt;
+	}
+
+}
@@ -5,23 +5,40 @@ import java.util.List;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import com.asuprojects.helpdesk.api.enums.PriorityEnum;
 import com.asuprojects.helpdesk.api.enums.StatusEnum;
 
 @Document
+@CompoundIndexes({
+	@CompoundIndex(name = "user_date_id", def = "{'user.$id': 1, 'date': -1, '_id': -1}"),
+	@CompoundIndex(name = "assignedUser_date_id", def = "{'assignedUser.$id': 1, 'date': -1, '_id': -1}"),
+	@CompoundIndex(name = "status_priority_date", def = "{'status': 1, 'priority': 1, 'date': -1}"),
+	@CompoundIndex(name = "date_id", def = "{'date': -1, '_id': -1}")
+})
 public class Ticket {
 
 	@Id
 	private String id;
 
+	@Version
+	private Long version;
+
 	@DBRef(lazy = true)
 	private User user;
 
+	private UserSummary userSummary;
+
 	private Date date;
 
+	@TextIndexed(weight = 2)
 	private String title;
 
 	private Integer number;
@@ -33,13 +50,21 @@ public class Ticket {
 	@DBRef(lazy = true)
 	private User assignedUser;
 
+	private UserSummary assignedUserSummary;
+
+	@TextIndexed
 	private String description;
 
 	private String image;
 
+	private String imageId;
+
 	@Transient
 	private List<ChangeStatus> changes;
 
+	@TextScore
+	private Float score;
+
 	public String getId() {
 		return id;
 	}
@@ -48,6 +73,14 @@ public class Ticket {
 		this.id = id;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	public User getUser() {
 		return user;
 	}
@@ -56,6 +89,14 @@ public class Ticket {
 		this.user = user;
 	}
 
+	public UserSummary getUserSummary() {
+		return userSummary;
+	}
+
+	public void setUserSummary(UserSummary userSummary) {
+		this.userSummary = userSummary;
+	}
+
 	public Date getDate() {
 		return date;
 	}
@@ -104,6 +145,14 @@ public class Ticket {
 		this.assignedUser = assignedUser;
 	}
 
+	public UserSummary getAssignedUserSummary() {
+		return assignedUserSummary;
+	}
+
+	public void setAssignedUserSummary(UserSummary assignedUserSummary) {
+		this.assignedUserSummary = assignedUserSummary;
+	}
+
 	public String getDescription() {
 		return description;
 	}
@@ -112,6 +161,14 @@ public class Ticket {
 		this.description = description;
 	}
 
+	public String getImageId() {
+		return imageId;
+	}
+
+	public void setImageId(String imageId) {
+		this.imageId = imageId;
+	}
+
 	public String getImage() {
 		return image;
 	}
@@ -128,4 +185,12 @@ public class Ticket {
 		this.changes = changes;
 	}
 
+	public Float getScore() {
+		return score;
+	}
+
+	public void setScore(Float score) {
+		this.score = score;
+	}
+
 }
@@ -0,0 +1,54 @@
+package com.asuprojects.helpdesk.api.entity;
+
+import com.asuprojects.helpdesk.api.enums.ProfileEnum;
+
+public class UserSummary {
+
+	private String id;
+
+	private String email;
+
+	private ProfileEnum profile;
+
+	public UserSummary() {
+	}
+
+	public UserSummary(User user) {
+		this.id = user.getId();
+		this.email = user.getEmail();
+		this.profile = user.getProfile();
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public ProfileEnum getProfile() {
+		return profile;
+	}
+
+	public void setProfile(ProfileEnum profile) {
+		this.profile = profile;
+	}
+
+	public User toUser() {
+		User user = new User();
+		user.setId(id);
+		user.setEmail(email);
+		user.setProfile(profile);
+		return user;
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.asuprojects.helpdesk.api.event;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.bson.Document;
+
+/*
+ * A write seen on the change stream of one of the shared collections, whichever node made
+ * it. RESYNC means the stream could not resume and every event since the last one may have
+ * been missed, so subscribers should drop or rebuild everything they keep for that entity.
+ */
+public class DomainChangeEvent {
+
+	public enum Entity {
+		TICKET, CHANGE_STATUS, USER
+	}
+
+	public enum Operation {
+		INSERT, UPDATE, REPLACE, DELETE, RESYNC
+	}
+
+	private final Entity entity;
+	private final Operation operation;
+	private final String id;
+	private final Set<String> updatedFields;
+	private final Document document;
+
+	public DomainChangeEvent(Entity entity, Operation operation, String id, Set<String> updatedFields, Document document) {
+		this.entity = entity;
+		this.operation = operation;
+		this.id = id;
+		this.updatedFields = updatedFields == null ? Collections.<String>emptySet() : updatedFields;
+		this.document = document;
+	}
+
+	public static DomainChangeEvent resync(Entity entity) {
+		return new DomainChangeEvent(entity, Operation.RESYNC, null, null, null);
+	}
+
+	/*
+	 * Inserts, deletes and resyncs touch every field and updates only the ones listed. A
+	 * replace rewrites the whole document but carries no pre-image, so it is reported as
+	 * touching nothing; listeners that care compare the full document with what they keep.
+	 */
+	public boolean touches(String field) {
+		switch (operation) {
+		case UPDATE:
+			return updatedFields.contains(field);
+		case REPLACE:
+			return false;
+		default:
+			return true;
+		}
+	}
+
+	public Entity getEntity() {
+		return entity;
+	}
+
+	public Operation getOperation() {
+		return operation;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public Set<String> getUpdatedFields() {
+		return updatedFields;
+	}
+
+	public Document getDocument() {
+		return document;
+	}
+
+}
@@ -0,0 +1,214 @@
+package com.asuprojects.helpdesk.api.event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.asuprojects.helpdesk.api.entity.ChangeStatus;
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.event.DomainChangeEvent.Entity;
+import com.asuprojects.helpdesk.api.event.DomainChangeEvent.Operation;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.MongoQueryException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+
+/*
+ * Spring Data MongoDB 2.0 has no MessageListenerContainer, so each collection is watched
+ * with the driver's change stream on its own thread. The resume token is saved at most
+ * once per interval and whenever the stream goes idle, so after a restart the listener
+ * continues where it stopped; events seen again after a crash are harmless because
+ * subscribers only invalidate or rebuild.
+ */
+@Component
+@ConditionalOnProperty(name = "change-stream.enabled", havingValue = "true")
+public class MongoChangeStreamListener {
+
+	private static final String TOKENS = "changeStreamToken";
+
+	/* ChangeStreamFatalError and ChangeStreamHistoryLost: the token can no longer be resumed */
+	private static final Set<Integer> LOST_TOKEN = new HashSet<>(Arrays.asList(280, 286));
+
+	private final Log logger = LogFactory.getLog(this.getClass());
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Value("${change-stream.token-save-interval}")
+	private long tokenSaveInterval;
+
+	@Value("${change-stream.retry-interval}")
+	private long retryInterval;
+
+	private final List<Thread> watchers = new ArrayList<>();
+
+	private volatile boolean running;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		running = true;
+		watch(Entity.TICKET, mongoTemplate.getCollectionName(Ticket.class));
+		watch(Entity.CHANGE_STATUS, mongoTemplate.getCollectionName(ChangeStatus.class));
+		watch(Entity.USER, mongoTemplate.getCollectionName(User.class));
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		running = false;
+		for (Thread watcher : watchers) {
+			watcher.join(TimeUnit.SECONDS.toMillis(5));
+		}
+	}
+
+	private void watch(Entity entity, String collectionName) {
+		Thread watcher = new Thread(() -> run(entity, collectionName), "change-stream-" + collectionName);
+		watcher.setDaemon(true);
+		watcher.start();
+		watchers.add(watcher);
+	}
+
+	private void run(Entity entity, String collectionName) {
+		MongoCollection<Document> collection = mongoTemplate.getCollection(collectionName);
+		while (running) {
+			BsonDocument token = loadToken(collectionName);
+			ChangeStreamIterable<Document> stream = collection.watch().maxAwaitTime(1, TimeUnit.SECONDS);
+			if (token != null) {
+				stream = stream.resumeAfter(token);
+			}
+			BsonDocument lastToken = token;
+			long savedAt = System.currentTimeMillis();
+			try (MongoCursor<ChangeStreamDocument<Document>> cursor = stream.iterator()) {
+				while (running) {
+					ChangeStreamDocument<Document> change = cursor.tryNext();
+					if (change == null) {
+						if (lastToken != token) {
+							saveToken(collectionName, lastToken);
+							token = lastToken;
+							savedAt = System.currentTimeMillis();
+						}
+						continue;
+					}
+					lastToken = change.getResumeToken();
+					publish(entity, collectionName, change);
+					if (System.currentTimeMillis() - savedAt >= tokenSaveInterval) {
+						saveToken(collectionName, lastToken);
+						token = lastToken;
+						savedAt = System.currentTimeMillis();
+					}
+				}
+				if (lastToken != token) {
+					saveToken(collectionName, lastToken);
+				}
+			} catch (MongoCommandException | MongoQueryException e) {
+				if (LOST_TOKEN.contains(e.getErrorCode())) {
+					logger.warn("Change stream on " + collectionName + " cannot resume, resynchronizing: " + e.getMessage());
+					resync(entity, collectionName);
+				} else {
+					retry(collectionName, e);
+				}
+			} catch (MongoException e) {
+				retry(collectionName, e);
+			}
+		}
+	}
+
+	private void publish(Entity entity, String collectionName, ChangeStreamDocument<Document> change) {
+		Operation operation;
+		switch (change.getOperationType()) {
+		case INSERT:
+			operation = Operation.INSERT;
+			break;
+		case UPDATE:
+			operation = Operation.UPDATE;
+			break;
+		case REPLACE:
+			operation = Operation.REPLACE;
+			break;
+		case DELETE:
+			operation = Operation.DELETE;
+			break;
+		case INVALIDATE:
+			resync(entity, collectionName);
+			return;
+		default:
+			return;
+		}
+		Set<String> updatedFields = null;
+		if (change.getUpdateDescription() != null) {
+			updatedFields = new HashSet<>(change.getUpdateDescription().getUpdatedFields().keySet());
+			if (change.getUpdateDescription().getRemovedFields() != null) {
+				updatedFields.addAll(change.getUpdateDescription().getRemovedFields());
+			}
+		}
+		String id = idOf(change.getDocumentKey());
+		eventPublisher.publishEvent(new DomainChangeEvent(entity, operation, id, updatedFields, change.getFullDocument()));
+	}
+
+	private void resync(Entity entity, String collectionName) {
+		mongoTemplate.getCollection(TOKENS).deleteOne(Filters.eq("_id", collectionName));
+		eventPublisher.publishEvent(DomainChangeEvent.resync(entity));
+	}
+
+	private void retry(String collectionName, MongoException e) {
+		logger.warn("Change stream on " + collectionName + " failed, retrying in " + retryInterval + " ms: " + e.getMessage());
+		try {
+			Thread.sleep(retryInterval);
+		} catch (InterruptedException interrupted) {
+			Thread.currentThread().interrupt();
+			running = false;
+		}
+	}
+
+	private BsonDocument loadToken(String collectionName) {
+		BsonDocument stored = mongoTemplate.getDb().getCollection(TOKENS, BsonDocument.class)
+				.find(Filters.eq("_id", collectionName)).first();
+		return stored == null || !stored.isDocument("token") ? null : stored.getDocument("token");
+	}
+
+	private void saveToken(String collectionName, BsonDocument token) {
+		Document stored = new Document("_id", collectionName).append("token", token).append("date", new Date());
+		mongoTemplate.getCollection(TOKENS).replaceOne(Filters.eq("_id", collectionName), stored,
+				new UpdateOptions().upsert(true));
+	}
+
+	private static String idOf(BsonDocument documentKey) {
+		if (documentKey == null || !documentKey.containsKey("_id")) {
+			return null;
+		}
+		BsonValue id = documentKey.get("_id");
+		if (id.isObjectId()) {
+			return id.asObjectId().getValue().toHexString();
+		}
+		return id.isString() ? id.asString().getValue() : id.toString();
+	}
+
+}
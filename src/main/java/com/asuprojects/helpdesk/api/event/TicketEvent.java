@@ -0,0 +1,88 @@
+package com.asuprojects.helpdesk.api.event;
+
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.asuprojects.helpdesk.api.dto.TicketListItem;
+import com.asuprojects.helpdesk.api.enums.StatusEnum;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/*
+ * Published by the ticket service after a write; the payload holds the grid columns and
+ * the change the write made to the per-status counters of the summary.
+ */
+public class TicketEvent implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	public enum Type {
+		CREATED, UPDATED, STATUS_CHANGED, DELETED
+	}
+
+	private Type type;
+	private TicketListItem ticket;
+	private StatusEnum previousStatus;
+	private Map<StatusEnum, Integer> summaryDelta = new EnumMap<>(StatusEnum.class);
+
+	@JsonIgnore
+	private String ownerId;
+
+	public TicketEvent() {
+	}
+
+	public TicketEvent(Type type, TicketListItem ticket, StatusEnum previousStatus, String ownerId) {
+		this.type = type;
+		this.ticket = ticket;
+		this.previousStatus = previousStatus;
+		this.ownerId = ownerId;
+		StatusEnum status = type == Type.DELETED ? null : ticket.getStatus();
+		if(type != Type.CREATED && previousStatus != null && previousStatus != status) {
+			summaryDelta.put(previousStatus, -1);
+		}
+		if(status != null && (type == Type.CREATED || previousStatus != status)) {
+			summaryDelta.put(status, 1);
+		}
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public void setType(Type type) {
+		this.type = type;
+	}
+
+	public TicketListItem getTicket() {
+		return ticket;
+	}
+
+	public void setTicket(TicketListItem ticket) {
+		this.ticket = ticket;
+	}
+
+	public StatusEnum getPreviousStatus() {
+		return previousStatus;
+	}
+
+	public void setPreviousStatus(StatusEnum previousStatus) {
+		this.previousStatus = previousStatus;
+	}
+
+	public Map<StatusEnum, Integer> getSummaryDelta() {
+		return summaryDelta;
+	}
+
+	public void setSummaryDelta(Map<StatusEnum, Integer> summaryDelta) {
+		this.summaryDelta = summaryDelta;
+	}
+
+	public String getOwnerId() {
+		return ownerId;
+	}
+
+	public void setOwnerId(String ownerId) {
+		this.ownerId = ownerId;
+	}
+
+}
@@ -0,0 +1,50 @@
+package com.asuprojects.helpdesk.api.filter;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.asuprojects.helpdesk.api.repository.CountingDbRefResolver;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Records how many DBRefs each request fetched, per endpoint, so a listing that starts
+ * resolving references one by one shows up as a jump in this distribution.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class DbRefMetricsFilter extends OncePerRequestFilter {
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		CountingDbRefResolver.startRequest();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			int fetched = CountingDbRefResolver.endRequest();
+			Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			DistributionSummary.builder("http.server.requests.dbref")
+					.tag("method", request.getMethod())
+					.tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+					.register(meterRegistry)
+					.record(fetched);
+		}
+	}
+
+}
@@ -7,7 +7,5 @@ import com.asuprojects.helpdesk.api.entity.ChangeStatus;
 
 @Repository
 public interface ChangeStatusRepository extends MongoRepository<ChangeStatus, String> {
-	
-	Iterable<ChangeStatus> findByTicketIdOrderByDateChangeStatusDesc(String ticketId); 
 
 }
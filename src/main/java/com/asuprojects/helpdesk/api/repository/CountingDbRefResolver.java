@@ -0,0 +1,60 @@
+package com.asuprojects.helpdesk.api.repository;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+
+import com.mongodb.DBRef;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Counts the references fetched from Mongo, whether by a lazy proxy or an eager read, in
+ * total per collection and for the request running on the current thread.
+ */
+public class CountingDbRefResolver extends DefaultDbRefResolver {
+
+	private static final ThreadLocal<int[]> REQUEST_COUNT = new ThreadLocal<>();
+
+	private final MeterRegistry meterRegistry;
+
+	public CountingDbRefResolver(MongoDbFactory mongoDbFactory, MeterRegistry meterRegistry) {
+		super(mongoDbFactory);
+		this.meterRegistry = meterRegistry;
+	}
+
+	public static void startRequest() {
+		REQUEST_COUNT.set(new int[1]);
+	}
+
+	public static int endRequest() {
+		int[] count = REQUEST_COUNT.get();
+		REQUEST_COUNT.remove();
+		return count == null ? 0 : count[0];
+	}
+
+	@Override
+	public Document fetch(DBRef dbRef) {
+		count(dbRef.getCollectionName(), 1);
+		return super.fetch(dbRef);
+	}
+
+	@Override
+	public List<Document> bulkFetch(List<DBRef> refs) {
+		if (!refs.isEmpty()) {
+			count(refs.get(0).getCollectionName(), refs.size());
+		}
+		return super.bulkFetch(refs);
+	}
+
+	private void count(String collection, int amount) {
+		meterRegistry.counter("mongodb.dbref.fetches", "collection", collection).increment(amount);
+		int[] count = REQUEST_COUNT.get();
+		if (count != null) {
+			count[0] += amount;
+		}
+	}
+
+}
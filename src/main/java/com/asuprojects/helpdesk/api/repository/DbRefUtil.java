@@ -0,0 +1,23 @@
+package com.asuprojects.helpdesk.api.repository;
+
+import org.springframework.data.mongodb.core.convert.LazyLoadingProxy;
+
+import com.asuprojects.helpdesk.api.entity.User;
+import com.mongodb.DBRef;
+
+public class DbRefUtil {
+
+	private DbRefUtil() {}
+
+	public static String idOf(User user) {
+		if (user == null) {
+			return null;
+		}
+		if (user instanceof LazyLoadingProxy) {
+			DBRef dbRef = ((LazyLoadingProxy) user).toDBRef();
+			return dbRef == null || dbRef.getId() == null ? null : dbRef.getId().toString();
+		}
+		return user.getId();
+	}
+
+}
@@ -0,0 +1,17 @@
+package com.asuprojects.helpdesk.api.repository;
+
+import java.util.Map;
+
+import com.asuprojects.helpdesk.api.dto.Summary;
+import com.asuprojects.helpdesk.api.dto.SummaryBreakdown;
+
+public interface SummaryRepository {
+
+	SummaryBreakdown findBreakdown();
+	
+	Map<String, Summary> countByPriority();
+	
+	Map<String, Summary> countByUser();
+	
+	Map<String, Summary> countByAssignedUser();
+}
@@ -0,0 +1,141 @@
+package com.asuprojects.helpdesk.api.repository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Repository;
+
+import com.asuprojects.helpdesk.api.dto.Summary;
+import com.asuprojects.helpdesk.api.dto.SummaryBreakdown;
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.enums.StatusEnum;
+
+@Repository
+public class SummaryRepositoryImpl implements SummaryRepository {
+
+	private static final String TOTAL = "total";
+	private static final String PRIORITY = "priority";
+	private static final String USER = "user";
+	private static final String ASSIGNED_USER = "assignedUser";
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Override
+	public SummaryBreakdown findBreakdown() {
+		Document facets = new Document(TOTAL, groupByStatus(null))
+				.append(PRIORITY, groupByStatus("$priority"))
+				.append(USER, groupByStatus(referenceId(USER)))
+				.append(ASSIGNED_USER, groupByStatus(referenceId(ASSIGNED_USER)));
+		Document result = facet(facets);
+		SummaryBreakdown breakdown = new SummaryBreakdown();
+		breakdown.setTotal(toSummaries(facetGroups(result, TOTAL)).getOrDefault(TOTAL, toSummary(null)));
+		breakdown.setByPriority(toSummaries(facetGroups(result, PRIORITY)));
+		breakdown.setByUser(toSummaries(facetGroups(result, USER)));
+		breakdown.setByAssignedUser(toSummaries(facetGroups(result, ASSIGNED_USER)));
+		return breakdown;
+	}
+
+	@Override
+	public Map<String, Summary> countByPriority() {
+		return group("$priority");
+	}
+
+	@Override
+	public Map<String, Summary> countByUser() {
+		return group(referenceId(USER));
+	}
+
+	@Override
+	public Map<String, Summary> countByAssignedUser() {
+		return group(referenceId(ASSIGNED_USER));
+	}
+
+	/*
+	 * A single dimension runs as a plain $group read through a cursor, so it is not bound by
+	 * the 16 MB a $facet result document is limited to.
+	 */
+	private Map<String, Summary> group(Object key) {
+		AggregationOperation operation = context -> groupStage(key);
+		Aggregation aggregation = Aggregation.newAggregation(operation)
+				.withOptions(Aggregation.newAggregationOptions().allowDiskUse(true).build());
+		String collection = mongoTemplate.getCollectionName(Ticket.class);
+		try (CloseableIterator<Document> groups = mongoTemplate.aggregateStream(aggregation, collection, Document.class)) {
+			return toSummaries(groups);
+		}
+	}
+
+	private Document facet(Document facets) {
+		AggregationOperation operation = context -> new Document("$facet", facets);
+		String collection = mongoTemplate.getCollectionName(Ticket.class);
+		Document result = mongoTemplate.aggregate(Aggregation.newAggregation(operation), collection, Document.class)
+				.getUniqueMappedResult();
+		return result == null ? new Document() : result;
+	}
+
+	/*
+	 * Groups by the given key expression and status; a null key counts the whole collection.
+	 */
+	private List<Document> groupByStatus(Object key) {
+		return Collections.singletonList(groupStage(key));
+	}
+
+	private Document groupStage(Object key) {
+		Document id = new Document("key", key == null ? TOTAL : key).append("status", "$status");
+		return new Document("$group", new Document("_id", id).append("count", new Document("$sum", 1)));
+	}
+
+	/*
+	 * "$user.$id" is not a valid field path, so the id of a DBRef is read through $objectToArray.
+	 */
+	private Document referenceId(String field) {
+		Document entry = new Document("$arrayElemAt", Arrays.asList(new Document("$objectToArray", "$" + field), 1));
+		return new Document("$let", new Document("vars", new Document("ref", entry)).append("in", "$$ref.v"));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Iterator<Document> facetGroups(Document result, String facet) {
+		return ((List<Document>) result.getOrDefault(facet, Collections.emptyList())).iterator();
+	}
+
+	private Map<String, Summary> toSummaries(Iterator<Document> groups) {
+		Map<String, Map<StatusEnum, Integer>> counts = new TreeMap<>();
+		while (groups.hasNext()) {
+			Document group = groups.next();
+			Document id = (Document) group.get("_id");
+			Object key = id.get("key");
+			Object status = id.get("status");
+			if (key == null || status == null) {
+				continue;
+			}
+			counts.computeIfAbsent(key.toString(), k -> new TreeMap<>())
+					.put(StatusEnum.valueOf(status.toString()), ((Number) group.get("count")).intValue());
+		}
+		Map<String, Summary> summaries = new TreeMap<>();
+		counts.forEach((key, amounts) -> summaries.put(key, toSummary(amounts)));
+		return summaries;
+	}
+
+	private Summary toSummary(Map<StatusEnum, Integer> amounts) {
+		Map<StatusEnum, Integer> values = amounts == null ? Collections.emptyMap() : amounts;
+		Summary summary = new Summary();
+		summary.setAmountNew(values.getOrDefault(StatusEnum.New, 0));
+		summary.setAmountApproved(values.getOrDefault(StatusEnum.Approved, 0));
+		summary.setAmountDisapproved(values.getOrDefault(StatusEnum.Disapproved, 0));
+		summary.setAmountResolved(values.getOrDefault(StatusEnum.Resolved, 0));
+		summary.setAmountAssigned(values.getOrDefault(StatusEnum.Assigned, 0));
+		summary.setAmountClosed(values.getOrDefault(StatusEnum.Closed, 0));
+		return summary;
+	}
+
+}
@@ -1,26 +1,11 @@
 package com.asuprojects.helpdesk.api.repository;
 
-
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import com.asuprojects.helpdesk.api.entity.Ticket;
 
 @Repository
-public interface TicketRepository extends MongoRepository<Ticket, String>{
-	
-	Page<Ticket> findByUserIdOrderByDateDesc(Pageable pages, String userId);
+public interface TicketRepository extends MongoRepository<Ticket, String>, TicketRepositoryCustom{
 	
-	Page<Ticket> findByTitleIgnoreCaseContainingAndStatusContainingAndPriorityContainingOrderByDateDesc(
-			String title, String status, String priority, Pageable pages);
-
-	Page<Ticket> findByTitleIgnoreCaseContainingAndStatusContainingAndPriorityContainingAndUserIdOrderByDateDesc(
-			String title, String status, String priority, Pageable pages, String userId);
-	
-	Page<Ticket> findByTitleIgnoreCaseContainingAndStatusContainingAndPriorityContainingAndAssignedUserIdOrderByDateDesc(
-			String title, String status, String priority, Pageable pages, String assignedUser);
-
-	Page<Ticket> findByNumber(Integer number, Pageable pages);
 }
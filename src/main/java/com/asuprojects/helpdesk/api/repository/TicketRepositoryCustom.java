@@ -0,0 +1,17 @@
+package com.asuprojects.helpdesk.api.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.asuprojects.helpdesk.api.dto.TicketListItem;
+
+public interface TicketRepositoryCustom {
+
+	Page<TicketListItem> findListItems(Criteria criteria, Pageable pageable);
+
+	List<TicketListItem> findListItems(Query query);
+}
@@ -0,0 +1,40 @@
+package com.asuprojects.helpdesk.api.repository;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+
+import com.asuprojects.helpdesk.api.dto.TicketListItem;
+import com.asuprojects.helpdesk.api.entity.Ticket;
+
+public class TicketRepositoryImpl implements TicketRepositoryCustom {
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	/*
+	 * The query is mapped against Ticket, so criteria keep using the entity's property
+	 * paths, while only the listed fields are read into the projection.
+	 */
+	@Override
+	public Page<TicketListItem> findListItems(Criteria criteria, Pageable pageable) {
+		List<TicketListItem> items = findListItems(new Query(criteria).with(pageable));
+		return PageableExecutionUtils.getPage(items, pageable,
+				() -> mongoTemplate.count(new Query(criteria), Ticket.class));
+	}
+
+	/* Any ticket query, such as a keyset page or a text search, read through the same projection. */
+	@Override
+	public List<TicketListItem> findListItems(Query query) {
+		query.fields().include("number").include("title").include("status").include("priority")
+				.include("date").include("assignedUserSummary");
+		return mongoTemplate.query(Ticket.class).as(TicketListItem.class).matching(query).all();
+	}
+
+}
@@ -0,0 +1,11 @@
+package com.asuprojects.helpdesk.api.repository.reactive;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.asuprojects.helpdesk.api.entity.Ticket;
+
+@Repository
+public interface ReactiveTicketRepository extends ReactiveMongoRepository<Ticket, String>, ReactiveTicketRepositoryCustom{
+	
+}
@@ -0,0 +1,14 @@
+package com.asuprojects.helpdesk.api.repository.reactive;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import com.asuprojects.helpdesk.api.dto.TicketListItem;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTicketRepositoryCustom {
+
+	Mono<Page<TicketListItem>> findListItems(Criteria criteria, Pageable pageable);
+}
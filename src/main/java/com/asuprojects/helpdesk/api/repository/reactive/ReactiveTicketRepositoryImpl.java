@@ -0,0 +1,31 @@
+package com.asuprojects.helpdesk.api.repository.reactive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.asuprojects.helpdesk.api.dto.TicketListItem;
+import com.asuprojects.helpdesk.api.entity.Ticket;
+
+import reactor.core.publisher.Mono;
+
+public class ReactiveTicketRepositoryImpl implements ReactiveTicketRepositoryCustom {
+
+	@Autowired
+	private ReactiveMongoTemplate mongoTemplate;
+
+	@Override
+	public Mono<Page<TicketListItem>> findListItems(Criteria criteria, Pageable pageable) {
+		Query query = new Query(criteria).with(pageable);
+		query.fields().include("number").include("title").include("status").include("priority")
+				.include("date").include("assignedUserSummary");
+		return mongoTemplate.query(Ticket.class).as(TicketListItem.class).matching(query).all().collectList()
+				.zipWith(mongoTemplate.count(new Query(criteria), Ticket.class))
+				.map(result -> new PageImpl<TicketListItem>(result.getT1(), pageable, result.getT2()));
+	}
+
+}
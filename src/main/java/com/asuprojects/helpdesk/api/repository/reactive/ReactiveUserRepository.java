@@ -0,0 +1,18 @@
+package com.asuprojects.helpdesk.api.repository.reactive;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.asuprojects.helpdesk.api.entity.User;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String>{
+
+	Mono<User> findByEmail(String email);
+	
+	Flux<User> findAllBy(Pageable pages);
+}
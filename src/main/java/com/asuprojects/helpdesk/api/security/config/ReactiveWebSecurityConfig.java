@@ -0,0 +1,110 @@
+package com.asuprojects.helpdesk.api.security.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import com.asuprojects.helpdesk.api.repository.reactive.ReactiveUserRepository;
+import com.asuprojects.helpdesk.api.security.jwt.JwtTokenUtil;
+import com.asuprojects.helpdesk.api.security.jwt.JwtUserFactory;
+import com.asuprojects.helpdesk.api.security.jwt.ReactiveJwtAuthenticationFilter;
+import com.asuprojects.helpdesk.api.security.service.PrincipalCache;
+import com.asuprojects.helpdesk.api.security.service.TokenRevocationService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+@Configuration
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+public class ReactiveWebSecurityConfig {
+
+	@Autowired
+	private ReactiveUserRepository userRepository;
+	
+	@Autowired
+	private JwtTokenUtil jwtTokenUtil;
+	
+	@Autowired
+	private PrincipalCache principalCache;
+	
+	@Autowired
+	private TokenRevocationService tokenRevocationService;
+	
+	@Autowired
+	private MeterRegistry meterRegistry;
+	
+	@Value("${security.bcrypt.strength}")
+	private int bcryptStrength;
+
+	@Bean
+	public PasswordEncoder passwordEncoder() {
+		return new TimedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), meterRegistry);
+	}
+	
+	@Bean
+	public ReactiveUserDetailsService reactiveUserDetailsService() {
+		return email -> userRepository.findByEmail(email).map(user -> (UserDetails) JwtUserFactory.create(user));
+	}
+	
+	@Bean
+	public ReactiveAuthenticationManager reactiveAuthenticationManager() {
+		UserDetailsRepositoryReactiveAuthenticationManager authenticationManager =
+				new UserDetailsRepositoryReactiveAuthenticationManager(reactiveUserDetailsService());
+		authenticationManager.setPasswordEncoder(passwordEncoder());
+		return authenticationManager;
+	}
+	
+	/*
+	 * The JWT filter is created here rather than as a bean, so WebFlux does not also add it
+	 * to the global filter chain.
+	 */
+	@Bean
+	public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
+		http.csrf().disable()
+			.httpBasic().disable()
+			.formLogin().disable()
+			.logout().disable()
+			.securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+			.exceptionHandling().authenticationEntryPoint((exchange, e) -> Mono.fromRunnable(
+					() -> exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED))).and()
+			.authorizeExchange()
+			.pathMatchers(HttpMethod.OPTIONS).permitAll()
+			.pathMatchers(
+					HttpMethod.GET,
+					"/",
+					"/*.html",
+					"/favicon.ico",
+					"/**/*.html",
+					"/**/*.css",
+					"/**/*.js"
+			).permitAll()
+			.pathMatchers("/api/auth/**").permitAll()
+			.pathMatchers(HttpMethod.POST, "/api/refresh", "/api/logout").permitAll()
+			.pathMatchers("/actuator/health").permitAll()
+			.pathMatchers("/actuator/**").hasRole("ADMIN")
+			.anyExchange().authenticated();
+		http.addFilterAt(new ReactiveJwtAuthenticationFilter(jwtTokenUtil, principalCache, userRepository, tokenRevocationService),
+				SecurityWebFiltersOrder.AUTHENTICATION);
+		return http.build();
+	}
+
+}
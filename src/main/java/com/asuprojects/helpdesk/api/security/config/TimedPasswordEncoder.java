@@ -0,0 +1,32 @@
+package com.asuprojects.helpdesk.api.security.config;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+	private final PasswordEncoder delegate;
+
+	private final Timer encodeTimer;
+
+	private final Timer matchesTimer;
+
+	public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		this.encodeTimer = Timer.builder("security.password").tag("operation", "encode").register(meterRegistry);
+		this.matchesTimer = Timer.builder("security.password").tag("operation", "matches").register(meterRegistry);
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return encodeTimer.record(() -> delegate.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+	}
+
+}
@@ -1,6 +1,9 @@
 package com.asuprojects.helpdesk.api.security.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -19,7 +22,10 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import com.asuprojects.helpdesk.api.security.jwt.JwtAuthenticationEntryPoint;
 import com.asuprojects.helpdesk.api.security.jwt.JwtAuthenticationTokenFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @EnableWebSecurity
 @EnableGlobalMethodSecurity(prePostEnabled = true)
 public class WebSecurityConfig extends WebSecurityConfigurerAdapter{
@@ -35,6 +41,12 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter{
 	
 	@Autowired
 	private UserDetailsService userDetailsService;
+	
+	@Autowired
+	private MeterRegistry meterRegistry;
+	
+	@Value("${security.bcrypt.strength}")
+	private int bcryptStrength;
 
 	@Autowired
 	public void configureAuthentication(AuthenticationManagerBuilder authenticationManagerBuilder) throws Exception {
@@ -43,7 +55,7 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter{
 
 	@Bean
 	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+		return new TimedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), meterRegistry);
 	}
 	
 	@Bean
@@ -67,6 +79,9 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter{
 					"/**/*.js"
 			).permitAll()
 			.antMatchers("/api/auth/**").permitAll()
+			.antMatchers(HttpMethod.POST, "/api/refresh", "/api/logout").permitAll()
+			.antMatchers("/actuator/health").permitAll()
+			.antMatchers("/actuator/**").hasRole("ADMIN")
 			.anyRequest().authenticated();
 		httpSecurity.addFilterBefore(authenticationTokenFilterBean(), UsernamePasswordAuthenticationFilter.class);
 		httpSecurity.headers().cacheControl();
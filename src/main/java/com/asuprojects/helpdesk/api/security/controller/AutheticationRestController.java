@@ -1,16 +1,16 @@
 package com.asuprojects.helpdesk.api.security.controller;
 
-import javax.naming.AuthenticationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
 import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -20,55 +20,94 @@ import com.asuprojects.helpdesk.api.entity.User;
 import com.asuprojects.helpdesk.api.security.jwt.JwtAuthenticationRequest;
 import com.asuprojects.helpdesk.api.security.jwt.JwtTokenUtil;
 import com.asuprojects.helpdesk.api.security.model.CurrentUser;
+import com.asuprojects.helpdesk.api.security.service.PasswordVerifier;
+import com.asuprojects.helpdesk.api.security.service.TokenRevocationService;
 import com.asuprojects.helpdesk.api.service.UserService;
 
+import io.jsonwebtoken.Claims;
+
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @CrossOrigin(origins = "*")
 public class AutheticationRestController {
 
 	@Autowired
-	private AuthenticationManager authenticationManager;
+	private JwtTokenUtil jwtTokenUtil;
 	
 	@Autowired
-	private JwtTokenUtil jwtTokenUtil;
+	private UserService userService;
 	
 	@Autowired
-	private UserDetailsService userDetailsService;
+	private PasswordVerifier passwordVerifier;
 	
 	@Autowired
-	private UserService userService;
+	private TokenRevocationService tokenRevocationService;
 	
+	/*
+	 * One user lookup; the BCrypt check runs on the password verifier, which sheds the login
+	 * with a 503 when it is saturated. The response is completed from the verifier, so the
+	 * request thread is released while the hash is checked.
+	 */
 	@PostMapping(value = "/api/auth")
-	public ResponseEntity<?> createAuthenticationToken(@RequestBody JwtAuthenticationRequest authenticationRequest) 
-			throws AuthenticationException {
-		
-		System.out.println(authenticationRequest.toString());
-		
-		final Authentication authentication = authenticationManager.authenticate(
-				new UsernamePasswordAuthenticationToken(
-						authenticationRequest.getEmail(), 
-						authenticationRequest.getPassword()));
-		
-		SecurityContextHolder.getContext().setAuthentication(authentication);
-		final UserDetails userDetails = userDetailsService.loadUserByUsername(authenticationRequest.getEmail());
-		final String token = jwtTokenUtil.generateToken(userDetails);
-		final User user = userService.findByEmail(authenticationRequest.getEmail());
-		user.setPassword(null);
-		return ResponseEntity.ok(new CurrentUser(token, user));
+	public CompletableFuture<ResponseEntity<CurrentUser>> createAuthenticationToken(@RequestBody JwtAuthenticationRequest authenticationRequest) {
+		User found = userService.findByEmail(authenticationRequest.getEmail());
+		CompletableFuture<User> verified;
+		try {
+			verified = passwordVerifier.verify(found, authenticationRequest.getPassword());
+		} catch (RejectedExecutionException e) {
+			return CompletableFuture.completedFuture(ResponseEntity
+					.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").<CurrentUser>build());
+		}
+		return verified.thenApply(user -> {
+			if(user == null) {
+				return ResponseEntity.status(HttpStatus.UNAUTHORIZED).<CurrentUser>build();
+			}
+			user.setPassword(null);
+			return ResponseEntity.ok(issueTokens(user));
+		});
 	}
 	
+	/*
+	 * Expects the refresh token and answers from its claims alone. Tokens issued before the
+	 * access/refresh pair are exchanged for a new pair after a lookup by email.
+	 */
 	@PostMapping(value = "/api/refresh")
 	public ResponseEntity<?> refreshAndGetAuthenticationToken(HttpServletRequest request){
 		String token = request.getHeader("Authorization");
-		String username = jwtTokenUtil.getUserNameFromToken(token);
-		final User user = userService.findByEmail(username);
-		
-		if(jwtTokenUtil.canTokenBeRefreshed(token)) {
-			String refreshedToken = jwtTokenUtil.refreshToken(token);
-			return ResponseEntity.ok(new CurrentUser(refreshedToken, user));
-		} else {
+		Claims claims = jwtTokenUtil.getValidClaims(token);
+		if(claims == null || tokenRevocationService.isRevoked(claims)) {
+			return ResponseEntity.badRequest().body(null);
+		}
+		if(jwtTokenUtil.isRefreshToken(claims)) {
+			User user = jwtTokenUtil.getUserFromClaims(claims);
+			return ResponseEntity.ok(new CurrentUser(jwtTokenUtil.generateAccessToken(user, claims.getId()), token, user));
+		}
+		if(jwtTokenUtil.getUserFromClaims(claims) != null) {
+			return ResponseEntity.badRequest().body(null);
+		}
+		User user = userService.findByEmail(claims.getSubject());
+		if(user == null) {
+			return ResponseEntity.badRequest().body(null);
+		}
+		user.setPassword(null);
+		return ResponseEntity.ok(issueTokens(user));
+	}
+	
+	/* Revokes the presented token; an access token also takes its refresh token with it. */
+	@PostMapping(value = "/api/logout")
+	public ResponseEntity<?> logout(HttpServletRequest request){
+		Claims claims = jwtTokenUtil.getValidClaims(request.getHeader("Authorization"));
+		if(claims == null) {
 			return ResponseEntity.badRequest().body(null);
 		}
+		tokenRevocationService.revoke(claims);
+		return ResponseEntity.ok().build();
+	}
+	
+	private CurrentUser issueTokens(User user) {
+		String refreshToken = jwtTokenUtil.generateRefreshToken(user);
+		String refreshTokenId = jwtTokenUtil.getValidClaims(refreshToken).getId();
+		return new CurrentUser(jwtTokenUtil.generateAccessToken(user, refreshTokenId), refreshToken, user);
 	}
 	
 }
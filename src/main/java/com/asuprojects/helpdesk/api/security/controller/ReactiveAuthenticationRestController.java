@@ -0,0 +1,100 @@
+package com.asuprojects.helpdesk.api.security.controller;
+
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.security.jwt.JwtAuthenticationRequest;
+import com.asuprojects.helpdesk.api.security.jwt.JwtTokenUtil;
+import com.asuprojects.helpdesk.api.security.model.CurrentUser;
+import com.asuprojects.helpdesk.api.security.service.PasswordVerifier;
+import com.asuprojects.helpdesk.api.security.service.TokenRevocationService;
+import com.asuprojects.helpdesk.api.service.ReactiveUserService;
+
+import io.jsonwebtoken.Claims;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@RestController
+@CrossOrigin(origins = "*")
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveAuthenticationRestController {
+
+	@Autowired
+	private JwtTokenUtil jwtTokenUtil;
+	
+	@Autowired
+	private ReactiveUserService userService;
+	
+	@Autowired
+	private PasswordVerifier passwordVerifier;
+	
+	@Autowired
+	private TokenRevocationService tokenRevocationService;
+	
+	@PostMapping(value = "/api/auth")
+	public Mono<ResponseEntity<CurrentUser>> createAuthenticationToken(@RequestBody JwtAuthenticationRequest authenticationRequest) {
+		return userService.findByEmail(authenticationRequest.getEmail())
+				.map(Optional::of)
+				.defaultIfEmpty(Optional.empty())
+				.flatMap(found -> Mono.fromFuture(passwordVerifier.verify(found.orElse(null), authenticationRequest.getPassword())))
+				.map(user -> {
+					user.setPassword(null);
+					return ResponseEntity.ok(issueTokens(user));
+				})
+				.defaultIfEmpty(ResponseEntity.status(HttpStatus.UNAUTHORIZED).<CurrentUser>build())
+				.onErrorResume(RejectedExecutionException.class, e -> Mono.just(ResponseEntity
+						.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").<CurrentUser>build()));
+	}
+	
+	@PostMapping(value = "/api/refresh")
+	public Mono<ResponseEntity<CurrentUser>> refreshAndGetAuthenticationToken(@RequestHeader("Authorization") String token){
+		Claims claims = jwtTokenUtil.getValidClaims(token);
+		if(claims == null || tokenRevocationService.isRevoked(claims)) {
+			return Mono.just(ResponseEntity.badRequest().<CurrentUser>build());
+		}
+		if(jwtTokenUtil.isRefreshToken(claims)) {
+			User user = jwtTokenUtil.getUserFromClaims(claims);
+			return Mono.just(ResponseEntity.ok(new CurrentUser(jwtTokenUtil.generateAccessToken(user, claims.getId()), token, user)));
+		}
+		if(jwtTokenUtil.getUserFromClaims(claims) != null) {
+			return Mono.just(ResponseEntity.badRequest().<CurrentUser>build());
+		}
+		return userService.findByEmail(claims.getSubject())
+				.map(user -> {
+					user.setPassword(null);
+					return ResponseEntity.ok(issueTokens(user));
+				})
+				.defaultIfEmpty(ResponseEntity.badRequest().<CurrentUser>build());
+	}
+	
+	@PostMapping(value = "/api/logout")
+	public Mono<ResponseEntity<Void>> logout(@RequestHeader("Authorization") String token){
+		Claims claims = jwtTokenUtil.getValidClaims(token);
+		if(claims == null) {
+			return Mono.just(ResponseEntity.badRequest().<Void>build());
+		}
+		return Mono.fromRunnable(() -> tokenRevocationService.revoke(claims))
+				.subscribeOn(Schedulers.elastic())
+				.then(Mono.just(ResponseEntity.ok().<Void>build()));
+	}
+	
+	private CurrentUser issueTokens(User user) {
+		String refreshToken = jwtTokenUtil.generateRefreshToken(user);
+		String refreshTokenId = jwtTokenUtil.getValidClaims(refreshToken).getId();
+		return new CurrentUser(jwtTokenUtil.generateAccessToken(user, refreshTokenId), refreshToken, user);
+	}
+	
+}
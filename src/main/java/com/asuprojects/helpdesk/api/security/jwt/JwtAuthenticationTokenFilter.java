@@ -11,32 +11,50 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.security.service.PrincipalCache;
+import com.asuprojects.helpdesk.api.security.service.TokenRevocationService;
+
+import io.jsonwebtoken.Claims;
+
 public class JwtAuthenticationTokenFilter extends OncePerRequestFilter{
 	
+	public static final String CURRENT_USER = JwtAuthenticationTokenFilter.class.getName() + ".CURRENT_USER";
+	
 	@Autowired
-	private UserDetailsService userDetailsService;
+	private PrincipalCache principalCache;
 	
 	@Autowired
 	private JwtTokenUtil jwtTokenUtil;
+	
+	@Autowired
+	private TokenRevocationService tokenRevocationService;
 
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
 			throws ServletException, IOException {
 		String authToken = request.getHeader("Authorization");
-		String username = jwtTokenUtil.getUserNameFromToken(authToken);
+		Claims claims = jwtTokenUtil.getValidClaims(authToken);
+		String username = claims == null ? null : claims.getSubject();
 		
-		if(username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-			UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-			if(jwtTokenUtil.validateToken(authToken, userDetails)) {
+		if(username != null && SecurityContextHolder.getContext().getAuthentication() == null
+				&& jwtTokenUtil.isAccessToken(claims) && !tokenRevocationService.isRevoked(claims)) {
+			/* access tokens describe the caller; only tokens issued before that need the lookup */
+			User user = jwtTokenUtil.getUserFromClaims(claims);
+			if(user == null) {
+				user = this.principalCache.get(username);
+			}
+			UserDetails userDetails = user == null ? null : JwtUserFactory.create(user);
+			if(userDetails != null && jwtTokenUtil.validateToken(claims, userDetails)) {
 				UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
 						userDetails, null, userDetails.getAuthorities());
 				authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 				logger.info("Authentication user " + username + ", setting security context");
 				SecurityContextHolder.getContext().setAuthentication(authentication);
+				request.setAttribute(CURRENT_USER, user);
 			}
 		}
 		chain.doFilter(request, response);
@@ -1,14 +1,28 @@
 package com.asuprojects.helpdesk.api.security.jwt;
 
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.enums.ProfileEnum;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -21,6 +35,13 @@ public class JwtTokenUtil implements Serializable{
 	static final String CLAIM_KEY_USERNAME = "sub";
 	static final String CLAIM_KEY_CREATED = "created";
 	static final String CLAIM_KEY_EXPIRED = "exp";
+	static final String CLAIM_KEY_USER_ID = "uid";
+	static final String CLAIM_KEY_PROFILE = "profile";
+	static final String CLAIM_KEY_TYPE = "typ";
+	static final String CLAIM_KEY_REFRESH_ID = "rid";
+	
+	public static final String ACCESS_TOKEN = "access";
+	public static final String REFRESH_TOKEN = "refresh";
 	
 	@Value("${jwt.secret}")
 	private String secret;
@@ -28,26 +49,71 @@ public class JwtTokenUtil implements Serializable{
 	@Value("${jwt.expiration}")
 	private Long expiration; 
 	
-	public String getUserNameFromToken(String token) {
-		String userName;
-		try {
-			final Claims clains = getClaimsFromToken(token);
-			userName = clains.getSubject();
-		} catch (Exception e) {
-			userName = null;
+	@Value("${jwt.refresh-expiration}")
+	private Long refreshExpiration;
+	
+	@Value("${jwt.claims-cache.max-size}")
+	private long claimsCacheSize;
+	
+	private transient Cache<String, Claims> verifiedClaims;
+	
+	@PostConstruct
+	public void init() {
+		verifiedClaims = Caffeine.newBuilder()
+				.maximumSize(claimsCacheSize)
+				.expireAfter(new Expiry<String, Claims>() {
+					@Override
+					public long expireAfterCreate(String key, Claims claims, long currentTime) {
+						return remainingNanos(claims);
+					}
+
+					@Override
+					public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+						return remainingNanos(claims);
+					}
+
+					@Override
+					public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+						return currentDuration;
+					}
+				})
+				.build();
+	}
+	
+	/*
+	 * Verifies the token once and returns its claims, or null when the token is invalid or
+	 * expired. Verified tokens are cached by their SHA-256 hash until they expire, so repeated
+	 * requests with the same token skip the HMAC check.
+	 */
+	public Claims getValidClaims(String token) {
+		if(token == null) {
+			return null;
 		}
-		return userName;
+		String key = hash(token);
+		Claims claims = verifiedClaims.getIfPresent(key);
+		if(claims != null && !isTokenExpired(claims)) {
+			return claims;
+		}
+		claims = parseClaims(token);
+		if(claims != null) {
+			verifiedClaims.put(key, claims);
+		}
+		return claims;
+	}
+	
+	public Claims parseClaims(String token) {
+		final Claims claims = getClaimsFromToken(token);
+		return claims == null || isTokenExpired(claims) ? null : claims;
+	}
+	
+	public String getUserNameFromToken(String token) {
+		final Claims claims = getValidClaims(token);
+		return claims == null ? null : claims.getSubject();
 	}
 	
 	public Date getExpirationDatefromToken(String token) {
-		Date expiration;
-		try {
-			final Claims clains = getClaimsFromToken(token);
-			expiration = clains.getExpiration();
-		} catch (Exception e) {
-			expiration = null;
-		}
-		return expiration;
+		final Claims claims = getValidClaims(token);
+		return claims == null ? null : claims.getExpiration();
 	}
 	
 	private Claims getClaimsFromToken(String token) {
@@ -63,62 +129,117 @@ public class JwtTokenUtil implements Serializable{
 		return claims;
 	}
 	
-	private Boolean isTokenExpired(String token) {
-		final Date expiration = getExpirationDatefromToken(token);
-		return expiration.before(new Date());
+	private Boolean isTokenExpired(Claims claims) {
+		final Date expiration = claims.getExpiration();
+		return expiration == null || expiration.before(new Date());
 	}
 	
+	private static long remainingNanos(Claims claims) {
+		Date expiration = claims.getExpiration();
+		long remaining = expiration == null ? 0 : expiration.getTime() - System.currentTimeMillis();
+		return TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0));
+	}
 	
-	public String generateToken(UserDetails userDetails) {
+	private static String hash(String token) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/*
+	 * Short-lived token carrying the user id and profile, so requests are authorized from the
+	 * claims alone. It names the refresh token it was issued from, so logging out with it
+	 * revokes both.
+	 */
+	public String generateAccessToken(User user, String refreshTokenId) {
+		Map<String, Object> claims = userClaims(user, ACCESS_TOKEN);
+		if(refreshTokenId != null) {
+			claims.put(CLAIM_KEY_REFRESH_ID, refreshTokenId);
+		}
+		return doGenerateToken(claims, expiration);
+	}
+	
+	/*
+	 * Long-lived token only accepted by /api/refresh, which issues new access tokens from its
+	 * claims without reading the user back.
+	 */
+	public String generateRefreshToken(User user) {
+		return doGenerateToken(userClaims(user, REFRESH_TOKEN), refreshExpiration);
+	}
+	
+	private Map<String, Object> userClaims(User user, String type) {
 		Map<String, Object> claims = new HashMap<>();
-		claims.put(CLAIM_KEY_USERNAME, userDetails.getUsername());
-		
-		final Date createdDate = new Date();
-		claims.put(CLAIM_KEY_CREATED, createdDate);
-		
-		return doGenerateToken(claims);
-		
+		claims.put(CLAIM_KEY_USERNAME, user.getEmail());
+		claims.put(CLAIM_KEY_USER_ID, user.getId());
+		claims.put(CLAIM_KEY_PROFILE, user.getProfile() == null ? null : user.getProfile().name());
+		claims.put(CLAIM_KEY_TYPE, type);
+		claims.put(CLAIM_KEY_CREATED, new Date());
+		return claims;
 	}
 
-	private String doGenerateToken(Map<String, Object> claims) {
+	private String doGenerateToken(Map<String, Object> claims, long lifetimeSeconds) {
 		final Date createdDate = (Date) claims.get(CLAIM_KEY_CREATED);
-		final Date expirationDate = new Date(createdDate.getTime() + expiration + 1000);
+		final Date expirationDate = new Date(createdDate.getTime() + TimeUnit.SECONDS.toMillis(lifetimeSeconds));
 		return Jwts.builder()
 				.setClaims(claims)
+				.setId(UUID.randomUUID().toString())
+				.setIssuedAt(createdDate)
 				.setExpiration(expirationDate)
 				.signWith(SignatureAlgorithm.HS512, secret)
 				.compact();
 	}
 	
-	public Boolean canTokenBeRefreshed(String token) {
-		return (!isTokenExpired(token));
+	/* Tokens issued before the access/refresh pair have no type and are accepted as access tokens. */
+	public boolean isAccessToken(Claims claims) {
+		Object type = claims.get(CLAIM_KEY_TYPE);
+		return type == null || ACCESS_TOKEN.equals(type);
 	}
 	
-	public String refreshToken(String token) {
-		String refreshedToken;
-		try {
-			final Claims claims = getClaimsFromToken(token);
-			claims.put(CLAIM_KEY_CREATED, new Date());
-			refreshedToken = doGenerateToken(claims);
-		} catch (Exception e) {
-			refreshedToken = null;
-		}
-		return refreshedToken;
+	public boolean isRefreshToken(Claims claims) {
+		return REFRESH_TOKEN.equals(claims.get(CLAIM_KEY_TYPE));
 	}
 	
-	public Boolean validateToken(String token, UserDetails userDetails) {
-		JwtUser user = (JwtUser) userDetails;
-		final String userName = getUserNameFromToken(token);
-		return (userName.equals(user.getUsername())
-					&& !isTokenExpired(token));
+	public String getUserId(Claims claims) {
+		return claims.get(CLAIM_KEY_USER_ID, String.class);
 	}
 	
+	public String getRefreshTokenId(Claims claims) {
+		return claims.get(CLAIM_KEY_REFRESH_ID, String.class);
+	}
 	
+	public Date getCreatedDate(Claims claims) {
+		Date created = claims.get(CLAIM_KEY_CREATED, Date.class);
+		return created == null ? claims.getIssuedAt() : created;
+	}
 	
+	/*
+	 * The caller as described by the token: id, email and profile, without a password. Returns
+	 * null for tokens that predate these claims, which still need a lookup by email.
+	 */
+	public User getUserFromClaims(Claims claims) {
+		String id = getUserId(claims);
+		String profile = claims.get(CLAIM_KEY_PROFILE, String.class);
+		if(id == null || profile == null || claims.getSubject() == null) {
+			return null;
+		}
+		User user = new User();
+		user.setId(id);
+		user.setEmail(claims.getSubject());
+		user.setProfile(ProfileEnum.valueOf(profile));
+		return user;
+	}
 	
+	public Boolean validateToken(String token, UserDetails userDetails) {
+		return validateToken(getValidClaims(token), userDetails);
+	}
 	
-	
-	
-	
+	public Boolean validateToken(Claims claims, UserDetails userDetails) {
+		return claims != null && claims.getSubject() != null
+				&& claims.getSubject().equals(userDetails.getUsername())
+				&& !isTokenExpired(claims);
+	}
 	
 }
@@ -0,0 +1,84 @@
+package com.asuprojects.helpdesk.api.security.jwt;
+
+import java.util.Optional;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.repository.reactive.ReactiveUserRepository;
+import com.asuprojects.helpdesk.api.security.service.PrincipalCache;
+import com.asuprojects.helpdesk.api.security.service.TokenRevocationService;
+
+import io.jsonwebtoken.Claims;
+import reactor.core.publisher.Mono;
+
+/*
+ * Reactive counterpart of JwtAuthenticationTokenFilter. Access tokens describe the caller; for
+ * tokens issued before that, cached principals are used as they are and a miss is loaded with
+ * the reactive repository instead of the blocking cache loader.
+ */
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+
+	public static final String CURRENT_USER = ReactiveJwtAuthenticationFilter.class.getName() + ".CURRENT_USER";
+
+	private final JwtTokenUtil jwtTokenUtil;
+
+	private final PrincipalCache principalCache;
+
+	private final ReactiveUserRepository userRepository;
+
+	private final TokenRevocationService tokenRevocationService;
+
+	public ReactiveJwtAuthenticationFilter(JwtTokenUtil jwtTokenUtil, PrincipalCache principalCache,
+			ReactiveUserRepository userRepository, TokenRevocationService tokenRevocationService) {
+		this.jwtTokenUtil = jwtTokenUtil;
+		this.principalCache = principalCache;
+		this.userRepository = userRepository;
+		this.tokenRevocationService = tokenRevocationService;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		String authToken = exchange.getRequest().getHeaders().getFirst("Authorization");
+		Claims claims = jwtTokenUtil.getValidClaims(authToken);
+		String username = claims == null ? null : claims.getSubject();
+		if(username == null || !jwtTokenUtil.isAccessToken(claims) || tokenRevocationService.isRevoked(claims)) {
+			return chain.filter(exchange);
+		}
+		return findUser(claims)
+				.flatMap(user -> authenticate(exchange, claims, user))
+				.map(Optional::of)
+				.defaultIfEmpty(Optional.empty())
+				.flatMap(authentication -> authentication.isPresent()
+						? chain.filter(exchange).subscriberContext(ReactiveSecurityContextHolder.withAuthentication(authentication.get()))
+						: chain.filter(exchange));
+	}
+
+	private Mono<User> findUser(Claims claims) {
+		User fromClaims = jwtTokenUtil.getUserFromClaims(claims);
+		if(fromClaims != null) {
+			return Mono.just(fromClaims);
+		}
+		String email = claims.getSubject();
+		User cached = principalCache.peek(email);
+		if(cached != null) {
+			return Mono.just(cached);
+		}
+		return userRepository.findByEmail(email).doOnNext(principalCache::put);
+	}
+
+	private Mono<Authentication> authenticate(ServerWebExchange exchange, Claims claims, User user) {
+		JwtUser userDetails = JwtUserFactory.create(user);
+		if(!jwtTokenUtil.validateToken(claims, userDetails)) {
+			return Mono.empty();
+		}
+		exchange.getAttributes().put(CURRENT_USER, user);
+		return Mono.just(new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+	}
+
+}
@@ -5,10 +5,12 @@ import com.asuprojects.helpdesk.api.entity.User;
 public class CurrentUser {
 
 	private String token;
+	private String refreshToken;
 	private User user;
 
-	public CurrentUser(String token, User user) {
+	public CurrentUser(String token, String refreshToken, User user) {
 		this.token = token;
+		this.refreshToken = refreshToken;
 		this.user = user;
 	}
 
@@ -20,6 +22,14 @@ public class CurrentUser {
 		this.token = token;
 	}
 
+	public String getRefreshToken() {
+		return refreshToken;
+	}
+
+	public void setRefreshToken(String refreshToken) {
+		this.refreshToken = refreshToken;
+	}
+
 	public User getUser() {
 		return user;
 	}
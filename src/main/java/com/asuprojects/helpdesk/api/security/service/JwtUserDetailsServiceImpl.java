@@ -8,21 +8,20 @@ import org.springframework.stereotype.Service;
 
 import com.asuprojects.helpdesk.api.entity.User;
 import com.asuprojects.helpdesk.api.security.jwt.JwtUserFactory;
-import com.asuprojects.helpdesk.api.service.UserService;
 
 @Service
 public class JwtUserDetailsServiceImpl implements UserDetailsService{
 
 	@Autowired
-	private UserService userService;
+	private PrincipalCache principalCache;
 	
 	@Override
 	public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-		User user = userService.findByEmail(email);
+		User user = principalCache.get(email);
 		if(user == null) {
-			throw new UsernameNotFoundException(String.format("No user found with username '%'.", email));
+			throw new UsernameNotFoundException(String.format("No user found with username '%s'.", email));
 		} else {
 			return JwtUserFactory.create(user);
 		}
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
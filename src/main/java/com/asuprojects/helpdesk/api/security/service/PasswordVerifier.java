@@ -0,0 +1,127 @@
+package com.asuprojects.helpdesk.api.security.service;
+
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.service.UserService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/*
+ * Runs BCrypt checks on a small pool with a bounded queue, so a login storm uses at most
+ * that many cores and the request threads stay free for ticket traffic; when the queue is
+ * full the login is shed with a RejectedExecutionException instead of waiting. A hash with
+ * a cost other than the configured one is replaced after a successful check. Unknown emails
+ * are checked against a dummy hash so they take as long as a wrong password.
+ */
+@Service
+public class PasswordVerifier {
+
+	private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d{2})\\$");
+
+	private final Log logger = LogFactory.getLog(this.getClass());
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${security.bcrypt.strength}")
+	private int strength;
+
+	@Value("${security.login.threads}")
+	private int threads;
+
+	@Value("${security.login.queue-size}")
+	private int queueSize;
+
+	private ExecutorService executor;
+
+	private ThreadPoolExecutor pool;
+
+	private Counter rejected;
+
+	private String dummyHash;
+
+	@PostConstruct
+	public void init() {
+		AtomicInteger sequence = new AtomicInteger();
+		pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueSize), runnable -> {
+					Thread thread = new Thread(runnable, "password-verifier-" + sequence.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "login", Collections.emptyList());
+		rejected = meterRegistry.counter("security.login.rejected");
+		dummyHash = passwordEncoder.encode("dummy-password");
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		pool.shutdownNow();
+	}
+
+	/*
+	 * Completes with the user when the password matches and with null otherwise; throws
+	 * RejectedExecutionException right away when the login is shed.
+	 */
+	public CompletableFuture<User> verify(User user, String rawPassword) {
+		try {
+			return CompletableFuture.supplyAsync(() -> check(user, rawPassword), executor);
+		} catch (RejectedExecutionException e) {
+			rejected.increment();
+			throw e;
+		}
+	}
+
+	private User check(User user, String rawPassword) {
+		String hash = user == null || user.getPassword() == null ? dummyHash : user.getPassword();
+		boolean matches = rawPassword != null && passwordEncoder.matches(rawPassword, hash);
+		if (user == null || !matches) {
+			return null;
+		}
+		if (cost(hash) != strength) {
+			try {
+				String rehashed = passwordEncoder.encode(rawPassword);
+				if (userService.updatePassword(user.getId(), hash, rehashed)) {
+					user.setPassword(rehashed);
+				}
+			} catch (RuntimeException e) {
+				logger.warn("Could not rehash the password of " + user.getEmail() + ": " + e.getMessage());
+			}
+		}
+		return user;
+	}
+
+	private static int cost(String hash) {
+		Matcher matcher = BCRYPT_COST.matcher(hash);
+		return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+	}
+
+}
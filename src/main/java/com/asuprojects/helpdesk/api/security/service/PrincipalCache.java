@@ -0,0 +1,81 @@
+package com.asuprojects.helpdesk.api.security.service;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.event.DomainChangeEvent;
+import com.asuprojects.helpdesk.api.service.UserService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Service
+public class PrincipalCache {
+
+	@Autowired
+	private UserService userService;
+
+	@Value("${security.principal-cache.max-size}")
+	private long maxSize;
+
+	@Value("${security.principal-cache.ttl}")
+	private long ttl;
+
+	private Cache<String, User> users;
+
+	@PostConstruct
+	public void init() {
+		users = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttl, TimeUnit.SECONDS)
+				.build();
+	}
+
+	public User get(String email) {
+		if (email == null) {
+			return null;
+		}
+		return users.get(email, userService::findByEmail);
+	}
+
+	public User peek(String email) {
+		return email == null ? null : users.getIfPresent(email);
+	}
+
+	public void put(User user) {
+		users.put(user.getEmail(), user);
+	}
+
+	public void invalidate(User user) {
+		if (user.getEmail() != null) {
+			users.invalidate(user.getEmail());
+		}
+		invalidateId(user.getId());
+	}
+
+	/* users changed by any node, as seen on the change stream */
+	@EventListener
+	public void onDomainChange(DomainChangeEvent event) {
+		if (event.getEntity() != DomainChangeEvent.Entity.USER) {
+			return;
+		}
+		if (event.getOperation() == DomainChangeEvent.Operation.RESYNC) {
+			users.invalidateAll();
+		} else {
+			invalidateId(event.getId());
+		}
+	}
+
+	private void invalidateId(String id) {
+		if (id != null) {
+			users.asMap().values().removeIf(cached -> id.equals(cached.getId()));
+		}
+	}
+
+}
@@ -0,0 +1,160 @@
+package com.asuprojects.helpdesk.api.security.service;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.asuprojects.helpdesk.api.entity.RevokedToken;
+import com.asuprojects.helpdesk.api.security.jwt.JwtTokenUtil;
+
+import io.jsonwebtoken.Claims;
+
+/*
+ * Revoked tokens are checked in memory on every request: token ids are held as UUIDs mapped to
+ * their expiry, and per-user cutoffs revoke everything a user was issued before a change.
+ * Mongo is the source of truth; entries written by other nodes are picked up incrementally by
+ * creation date, and expired ones are dropped from memory and, through the TTL index, from Mongo.
+ */
+@Service
+public class TokenRevocationService {
+
+	/* Tolerated clock difference between nodes when reading entries created since the last sync. */
+	private static final long SYNC_OVERLAP = TimeUnit.SECONDS.toMillis(30);
+
+	private static final String USER_CUTOFF_PREFIX = "user:";
+
+	private final Log logger = LogFactory.getLog(this.getClass());
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Autowired
+	private JwtTokenUtil jwtTokenUtil;
+
+	@Value("${jwt.refresh-expiration}")
+	private long refreshExpiration;
+
+	private final Map<UUID, Long> revokedTokens = new ConcurrentHashMap<>();
+
+	private final Map<String, Long> userCutoffs = new ConcurrentHashMap<>();
+
+	private volatile long lastSync;
+
+	@PostConstruct
+	public void init() {
+		sync();
+	}
+
+	@Scheduled(fixedDelayString = "${jwt.revocation.sync-interval}", initialDelayString = "${jwt.revocation.sync-interval}")
+	public void scheduledSync() {
+		try {
+			sync();
+		} catch (Exception e) {
+			logger.warn("Token revocation sync failed: " + e.getMessage());
+		}
+	}
+
+	public void sync() {
+		long started = System.currentTimeMillis();
+		Query query = new Query(Criteria.where("created").gte(new Date(lastSync - SYNC_OVERLAP)));
+		for (RevokedToken revoked : mongoTemplate.find(query, RevokedToken.class)) {
+			apply(revoked);
+		}
+		revokedTokens.values().removeIf(expiresAt -> expiresAt < started);
+		long oldestValid = started - TimeUnit.SECONDS.toMillis(refreshExpiration);
+		userCutoffs.values().removeIf(cutoff -> cutoff < oldestValid);
+		lastSync = started;
+	}
+
+	public boolean isRevoked(Claims claims) {
+		UUID id = tokenId(claims);
+		if (id != null && revokedTokens.containsKey(id)) {
+			return true;
+		}
+		/* an access token goes with the refresh token it was issued from */
+		UUID refreshId = parse(jwtTokenUtil.getRefreshTokenId(claims));
+		if (refreshId != null && revokedTokens.containsKey(refreshId)) {
+			return true;
+		}
+		String userId = jwtTokenUtil.getUserId(claims);
+		Long cutoff = userId == null ? null : userCutoffs.get(userId);
+		if (cutoff == null) {
+			return false;
+		}
+		Date created = jwtTokenUtil.getCreatedDate(claims);
+		return created == null || created.getTime() < cutoff;
+	}
+
+	/*
+	 * Revokes a token until it expires, along with the refresh token an access token was issued
+	 * from. Tokens without an id cannot be revoked this way.
+	 */
+	public void revoke(Claims claims) {
+		String userId = jwtTokenUtil.getUserId(claims);
+		UUID id = tokenId(claims);
+		if (id != null && claims.getExpiration() != null) {
+			save(new RevokedToken(id.toString(), userId, null, claims.getExpiration()));
+		}
+		UUID refreshId = parse(jwtTokenUtil.getRefreshTokenId(claims));
+		if (refreshId != null) {
+			save(new RevokedToken(refreshId.toString(), userId, null,
+					new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(refreshExpiration))));
+		}
+	}
+
+	/* Revokes every token issued to the user so far, e.g. after the profile or password changed. */
+	public void revokeAll(String userId) {
+		if (userId == null) {
+			return;
+		}
+		Date now = new Date();
+		save(new RevokedToken(USER_CUTOFF_PREFIX + userId, userId, now,
+				new Date(now.getTime() + TimeUnit.SECONDS.toMillis(refreshExpiration))));
+	}
+
+	private void save(RevokedToken revoked) {
+		mongoTemplate.save(revoked);
+		apply(revoked);
+	}
+
+	private void apply(RevokedToken revoked) {
+		if (revoked.getNotBefore() != null) {
+			userCutoffs.merge(revoked.getUserId(), revoked.getNotBefore().getTime(), Math::max);
+			return;
+		}
+		UUID id = parse(revoked.getId());
+		if (id != null && revoked.getExpiresAt() != null) {
+			revokedTokens.put(id, revoked.getExpiresAt().getTime());
+		}
+	}
+
+	private static UUID tokenId(Claims claims) {
+		return parse(claims.getId());
+	}
+
+	private static UUID parse(String id) {
+		if (id == null) {
+			return null;
+		}
+		try {
+			return UUID.fromString(id);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,15 @@
+package com.asuprojects.helpdesk.api.service;
+
+import org.springframework.stereotype.Component;
+
+import com.asuprojects.helpdesk.api.dto.AttachmentResource;
+
+@Component
+public interface AttachmentService {
+
+	String storeDataUrl(String dataUrl, String filename);
+	
+	AttachmentResource findById(String id);
+	
+	void delete(String id);
+}
@@ -0,0 +1,15 @@
+package com.asuprojects.helpdesk.api.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.asuprojects.helpdesk.api.entity.ChangeStatus;
+
+@Component
+public interface ChangeStatusWriter {
+
+	ChangeStatus write(ChangeStatus changeStatus);
+	
+	void writeAll(List<ChangeStatus> changes);
+}
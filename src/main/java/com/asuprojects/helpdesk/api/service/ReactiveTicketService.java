@@ -0,0 +1,46 @@
+package com.asuprojects.helpdesk.api.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import com.asuprojects.helpdesk.api.dto.TicketListItem;
+import com.asuprojects.helpdesk.api.entity.ChangeStatus;
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.enums.StatusEnum;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Component
+public interface ReactiveTicketService {
+
+	Mono<Ticket> createOrUpdate(Ticket ticket);
+	
+	Mono<Ticket> patch(String id, Ticket changes);
+	
+	Mono<Ticket> findById(String id);
+	
+	Mono<String> findImageId(String id);
+	
+	Mono<Ticket> delete(String id);
+	
+	Mono<Page<TicketListItem>> listTicket(int page, int count);
+	
+	Mono<Ticket> changeStatus(String id, StatusEnum expected, StatusEnum status, User user);
+	
+	Flux<ChangeStatus> listChangeStatus(String ticketId);
+	
+	Mono<Slice<ChangeStatus>> listChangeStatus(String ticketId, int page, int count);
+	
+	Mono<Page<TicketListItem>> findByCurrentUser(int page, int count, String userId);
+	
+	Mono<Page<TicketListItem>> findByParameters(int page, int count, String title, String status, String priority);
+	
+	Mono<Page<TicketListItem>> findByParametersAndCurrentUser(int page, int count, String title, String status, String priority, String userId);
+	
+	Mono<Page<TicketListItem>> findByNumber(int page, int count, Integer number);
+	
+	Mono<Page<TicketListItem>> findByParameterAndAssignedUser(int page, int count, String title, String status, String priority, String assignedUser);
+}
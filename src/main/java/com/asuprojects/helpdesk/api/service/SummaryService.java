@@ -0,0 +1,33 @@
+package com.asuprojects.helpdesk.api.service;
+
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.asuprojects.helpdesk.api.dto.Summary;
+import com.asuprojects.helpdesk.api.dto.SummaryBreakdown;
+import com.asuprojects.helpdesk.api.enums.StatusEnum;
+
+@Component
+public interface SummaryService {
+
+	Summary getSummary();
+	
+	long getTotal();
+	
+	SummaryBreakdown getBreakdown();
+	
+	Map<String, Summary> countByPriority();
+	
+	Map<String, Summary> countByUser();
+	
+	Map<String, Summary> countByAssignedUser();
+	
+	void onCreated(StatusEnum status);
+	
+	void onStatusChanged(StatusEnum previous, StatusEnum current);
+	
+	void onDeleted(StatusEnum status);
+	
+	void rebuild();
+}
@@ -0,0 +1,14 @@
+package com.asuprojects.helpdesk.api.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.asuprojects.helpdesk.api.entity.User;
+
+@Component
+public interface TicketEventService {
+
+	SseEmitter subscribe(User user, String lastEventId);
+	
+	int getSubscriberCount();
+}
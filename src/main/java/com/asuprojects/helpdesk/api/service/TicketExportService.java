@@ -0,0 +1,17 @@
+package com.asuprojects.helpdesk.api.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public interface TicketExportService {
+
+	String NDJSON = "ndjson";
+	
+	String CSV = "csv";
+	
+	void export(OutputStream output, String format, String title, String status, String priority, String userId,
+			String assignedUser) throws IOException;
+}
@@ -0,0 +1,11 @@
+package com.asuprojects.helpdesk.api.service;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public interface TicketNumberService {
+
+	Integer next();
+	
+	int renumberDuplicates();
+}
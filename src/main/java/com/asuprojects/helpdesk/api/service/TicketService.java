@@ -1,37 +1,63 @@
 package com.asuprojects.helpdesk.api.service;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
+import com.asuprojects.helpdesk.api.dto.BulkItemResult;
+import com.asuprojects.helpdesk.api.dto.CursorSlice;
+import com.asuprojects.helpdesk.api.dto.TicketListItem;
 import com.asuprojects.helpdesk.api.entity.ChangeStatus;
 import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.enums.StatusEnum;
 
 @Component
 public interface TicketService {
 
 	Ticket createOrUpdate(Ticket ticket);
 	
+	Ticket patch(String id, Ticket changes);
+	
 	Optional<Ticket> findById(String id);
 	
+	String findImageId(String id);
+	
 	void delete(String id); 
 	
-	Page<Ticket> listTicket(int page, int count);
+	Page<TicketListItem> listTicket(int page, int count);
 	
 	ChangeStatus createChangeStatus(ChangeStatus changeStatus);
 	
+	Ticket changeStatus(String id, StatusEnum expected, StatusEnum status, User user);
+	
+	List<BulkItemResult> createAll(List<Ticket> tickets, User user);
+	
+	List<BulkItemResult> changeStatus(List<String> ids, StatusEnum status, User assignedUser, User user);
+	
+	List<BulkItemResult> deleteAll(List<String> ids);
+	
 	Iterable<ChangeStatus> listChangeStatus(String ticketId);
 	
-	Page<Ticket> findByCurrentUser(int page, int count, String userId);
+	Slice<ChangeStatus> listChangeStatus(String ticketId, int page, int count);
+	
+	Page<TicketListItem> findByCurrentUser(int page, int count, String userId);
 	
-	Page<Ticket> findByParameters(int page, int count, String title, String status, String priority);
+	Page<TicketListItem> findByParameters(int page, int count, String title, String status, String priority);
 	
-	Page<Ticket> findByParametersAndCurrentUser(int page, int count, String title, String status, String priority, String userId);
+	Page<TicketListItem> findByParametersAndCurrentUser(int page, int count, String title, String status, String priority, String userId);
 	
-	Page<Ticket> findByNumber(int page, int count, Integer number);
+	Page<TicketListItem> findByNumber(int page, int count, Integer number);
 	
-	Page<Ticket> findByParameterAndAssignedUser(int page, int count, String title, String status, String priority, String assignedUser);
+	Page<TicketListItem> findByParameterAndAssignedUser(int page, int count, String title, String status, String priority, String assignedUser);
 	
 	Iterable<Ticket> findAll();
+	
+	CursorSlice<TicketListItem> findByCursor(String cursor, int count, String title, String status, String priority,
+			String userId, String assignedUser, boolean total);
+	
+	Page<TicketListItem> search(int page, int count, String text, String status, String priority, String userId, String assignedUser);
 }
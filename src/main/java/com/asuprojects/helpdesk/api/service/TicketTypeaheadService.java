@@ -0,0 +1,18 @@
+package com.asuprojects.helpdesk.api.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.asuprojects.helpdesk.api.dto.TicketSuggestion;
+import com.asuprojects.helpdesk.api.entity.Ticket;
+
+@Component
+public interface TicketTypeaheadService {
+
+	void index(Ticket ticket);
+	
+	void remove(String ticketId);
+	
+	List<TicketSuggestion> suggest(String term, String userId, int limit);
+}
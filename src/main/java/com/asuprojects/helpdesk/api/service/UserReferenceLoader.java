@@ -0,0 +1,17 @@
+package com.asuprojects.helpdesk.api.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.entity.User;
+
+@Component
+public interface UserReferenceLoader {
+
+	void resolve(Collection<Ticket> tickets);
+	
+	Map<String, User> findUsers(Collection<String> ids);
+}
@@ -5,6 +5,7 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Component;
 
+import com.asuprojects.helpdesk.api.dto.CursorSlice;
 import com.asuprojects.helpdesk.api.entity.User;
 
 @Component
@@ -14,9 +15,13 @@ public interface UserService {
 	
 	User createOrUpdate(User user);
 	
+	boolean updatePassword(String id, String currentPassword, String password);
+	
 	Optional<User> findById(String id);
 	
 	void delete(String id);
 	
 	Page<User> findAll(int page, int count);
+	
+	CursorSlice<User> findAll(String cursor, int count, boolean total);
 }
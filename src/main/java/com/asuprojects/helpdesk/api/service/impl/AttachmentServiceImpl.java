@@ -0,0 +1,92 @@
+package com.asuprojects.helpdesk.api.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+
+import javax.annotation.PostConstruct;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.stereotype.Service;
+
+import com.asuprojects.helpdesk.api.dto.AttachmentResource;
+import com.asuprojects.helpdesk.api.service.AttachmentService;
+import com.mongodb.MongoGridFSException;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.mongodb.client.model.Filters;
+
+@Service
+public class AttachmentServiceImpl implements AttachmentService {
+
+	@Autowired
+	private MongoDbFactory mongoDbFactory;
+
+	private GridFSBucket bucket;
+
+	@PostConstruct
+	public void init() {
+		this.bucket = GridFSBuckets.create(mongoDbFactory.getDb());
+	}
+
+	/*
+	 * Accepts the data URLs sent by the front end (data:image/png;base64,...) or a bare
+	 * base64 payload, and decodes it while streaming it into GridFS. Only the raster image
+	 * types are accepted from a data URL, so nothing stored can be served back as markup.
+	 */
+	@Override
+	public String storeDataUrl(String dataUrl, String filename) {
+		String contentType = AttachmentResource.DEFAULT_CONTENT_TYPE;
+		int start = 0;
+		if (dataUrl.startsWith("data:")) {
+			int comma = dataUrl.indexOf(',');
+			if (comma < 0) {
+				throw new IllegalArgumentException("Invalid image data");
+			}
+			String header = dataUrl.substring("data:".length(), comma);
+			if (!header.endsWith(";base64")) {
+				throw new IllegalArgumentException("Image must be base64 encoded");
+			}
+			String mediaType = header.substring(0, header.length() - ";base64".length()).split(";")[0]
+					.trim().toLowerCase(Locale.ROOT);
+			if (!AttachmentResource.IMAGE_TYPES.contains(mediaType)) {
+				throw new IllegalArgumentException("Unsupported image type: " + mediaType);
+			}
+			contentType = mediaType;
+			start = comma + 1;
+		}
+		byte[] encoded = dataUrl.substring(start).getBytes(StandardCharsets.US_ASCII);
+		InputStream content = Base64.getMimeDecoder().wrap(new ByteArrayInputStream(encoded));
+		GridFSUploadOptions options = new GridFSUploadOptions().metadata(new Document("contentType", contentType));
+		return bucket.uploadFromStream(filename, content, options).toHexString();
+	}
+
+	@Override
+	public AttachmentResource findById(String id) {
+		if (!ObjectId.isValid(id)) {
+			return null;
+		}
+		GridFSFile file = bucket.find(Filters.eq("_id", new ObjectId(id))).first();
+		return file == null ? null : new AttachmentResource(bucket, file);
+	}
+
+	@Override
+	public void delete(String id) {
+		if (id == null || !ObjectId.isValid(id)) {
+			return;
+		}
+		try {
+			bucket.delete(new ObjectId(id));
+		} catch (MongoGridFSException e) {
+			/* already removed */
+		}
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.asuprojects.helpdesk.api.service.impl;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import com.asuprojects.helpdesk.api.entity.ChangeStatus;
+import com.asuprojects.helpdesk.api.service.ChangeStatusWriter;
+
+@Service
+@ConditionalOnProperty(name = "audit.write-behind.enabled", havingValue = "false", matchIfMissing = true)
+public class DirectChangeStatusWriter implements ChangeStatusWriter {
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Override
+	public ChangeStatus write(ChangeStatus changeStatus) {
+		return mongoTemplate.insert(changeStatus);
+	}
+
+	@Override
+	public void writeAll(List<ChangeStatus> changes) {
+		mongoTemplate.insert(changes, ChangeStatus.class);
+	}
+
+}
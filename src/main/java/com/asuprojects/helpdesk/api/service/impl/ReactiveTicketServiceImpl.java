@@ -0,0 +1,378 @@
+package com.asuprojects.helpdesk.api.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.asuprojects.helpdesk.api.dto.TicketListItem;
+import com.asuprojects.helpdesk.api.entity.ChangeStatus;
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.entity.UserSummary;
+import com.asuprojects.helpdesk.api.enums.StatusEnum;
+import com.asuprojects.helpdesk.api.event.TicketEvent;
+import com.asuprojects.helpdesk.api.repository.DbRefUtil;
+import com.asuprojects.helpdesk.api.repository.reactive.ReactiveTicketRepository;
+import com.asuprojects.helpdesk.api.repository.reactive.ReactiveUserRepository;
+import com.asuprojects.helpdesk.api.service.AttachmentService;
+import com.asuprojects.helpdesk.api.service.ChangeStatusWriter;
+import com.asuprojects.helpdesk.api.service.ReactiveTicketService;
+import com.asuprojects.helpdesk.api.service.SummaryService;
+import com.asuprojects.helpdesk.api.service.TicketTypeaheadService;
+import com.mongodb.DBRef;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/*
+ * Single-ticket operations of TicketServiceImpl on the reactive driver: history goes through
+ * the same ChangeStatusWriter and the same TicketEvents are published, but there is no
+ * bulk endpoint and no SSE stream listens to the events in a reactive application. User
+ * references are never resolved: tickets carry plain users rebuilt from their embedded
+ * summaries, and the blocking GridFS and history writes run on the elastic scheduler.
+ */
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveTicketServiceImpl implements ReactiveTicketService {
+
+	@Autowired
+	private ReactiveTicketRepository ticketRepository;
+	
+	@Autowired
+	private ChangeStatusWriter changeStatusWriter;
+	
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+	
+	@Autowired
+	private ReactiveUserRepository userRepository;
+	
+	@Autowired
+	private ReactiveMongoTemplate mongoTemplate;
+	
+	@Autowired
+	private SummaryService summaryService;
+	
+	@Autowired(required = false)
+	private TicketTypeaheadService typeaheadService;
+	
+	@Autowired
+	private AttachmentService attachmentService;
+	
+	@Override
+	public Mono<Ticket> createOrUpdate(Ticket ticket) {
+		ticket.setUserSummary(summaryOf(ticket.getUser()));
+		ticket.setAssignedUserSummary(summaryOf(ticket.getAssignedUser()));
+		Mono<Optional<Ticket>> current = ticket.getId() == null ? Mono.just(Optional.empty())
+				: findStatusAndImage(ticket.getId()).map(Optional::of).defaultIfEmpty(Optional.empty());
+		return current.zipWith(storeImage(ticket)).flatMap(state -> {
+			Ticket previous = state.getT1().orElse(null);
+			String storedImageId = state.getT2().orElse(null);
+			return this.ticketRepository.save(ticket)
+					.doOnError(e -> deleteImage(storedImageId))
+					.doOnNext(ticketPersisted -> {
+						if(previous == null) {
+							this.summaryService.onCreated(ticketPersisted.getStatus());
+							publish(TicketEvent.Type.CREATED, ticketPersisted, null);
+						} else {
+							this.summaryService.onStatusChanged(previous.getStatus(), ticketPersisted.getStatus());
+							publish(TicketEvent.Type.UPDATED, ticketPersisted, previous.getStatus());
+							if(storedImageId != null) {
+								deleteImage(previous.getImageId());
+							}
+						}
+						if(this.typeaheadService != null) {
+							this.typeaheadService.index(ticketPersisted);
+						}
+					});
+		});
+	}
+
+	@Override
+	public Mono<Ticket> patch(String id, Ticket changes) {
+		if(changes.getVersion() == null) {
+			return Mono.error(new IllegalArgumentException("Version required"));
+		}
+		Mono<Optional<String>> previousImageId = changes.getImage() == null ? Mono.just(Optional.empty())
+				: findStatusAndImage(id).map(ticket -> Optional.ofNullable(ticket.getImageId())).defaultIfEmpty(Optional.empty());
+		return previousImageId.zipWith(storeImage(changes)).flatMap(images -> {
+			String storedImageId = images.getT2().orElse(null);
+			Update update = new Update().inc("version", 1);
+			if(changes.getTitle() != null) {
+				update.set("title", changes.getTitle());
+			}
+			if(changes.getDescription() != null) {
+				update.set("description", changes.getDescription());
+			}
+			if(changes.getPriority() != null) {
+				update.set("priority", changes.getPriority());
+			}
+			if(storedImageId != null) {
+				update.set("imageId", storedImageId).unset("image");
+			}
+			Criteria criteria = Criteria.where("id").is(id).and("version").is(changes.getVersion());
+			FindAndModifyOptions options = FindAndModifyOptions.options().returnNew(true);
+			return this.mongoTemplate.findAndModify(new Query(criteria), update, options, Ticket.class)
+					.map(this::detachUsers)
+					.doOnNext(ticket -> {
+						if(storedImageId != null) {
+							deleteImage(images.getT1().orElse(null));
+						}
+						if(this.typeaheadService != null && changes.getTitle() != null) {
+							this.typeaheadService.index(ticket);
+						}
+						publish(TicketEvent.Type.UPDATED, ticket, ticket.getStatus());
+					})
+					.switchIfEmpty(Mono.defer(() -> {
+						deleteImage(storedImageId);
+						return conflictOrEmpty(id, changes.getVersion(), "Ticket was modified by another request");
+					}));
+		});
+	}
+
+	@Override
+	public Mono<Ticket> findById(String id) {
+		return this.ticketRepository.findById(id).map(this::detachUsers);
+	}
+
+	@Override
+	public Mono<String> findImageId(String id) {
+		Query query = new Query(Criteria.where("id").is(id));
+		query.fields().include("imageId");
+		return this.mongoTemplate.findOne(query, Ticket.class).flatMap(ticket -> Mono.justOrEmpty(ticket.getImageId()));
+	}
+
+	@Override
+	public Mono<Ticket> delete(String id) {
+		Query query = new Query(Criteria.where("id").is(id));
+		query.fields().include("status").include("imageId").include("user").include("userSummary");
+		return this.mongoTemplate.findAndRemove(query, Ticket.class).map(this::detachUsers).doOnNext(removed -> {
+			this.summaryService.onDeleted(removed.getStatus());
+			publish(TicketEvent.Type.DELETED, removed, removed.getStatus());
+			deleteImage(removed.getImageId());
+			if(this.typeaheadService != null) {
+				this.typeaheadService.remove(id);
+			}
+		});
+	}
+
+	@Override
+	public Mono<Page<TicketListItem>> listTicket(int page, int count) {
+		Pageable pages = PageRequest.of(page, count);
+		return this.ticketRepository.findListItems(new Criteria(), pages);
+	}
+
+	@Override
+	public Mono<Ticket> changeStatus(String id, StatusEnum expected, StatusEnum status, User user) {
+		if(expected == null) {
+			return Mono.error(new IllegalArgumentException("Expected status required"));
+		}
+		Criteria criteria = Criteria.where("id").is(id).and("status").is(expected);
+		Update update = new Update().set("status", status).inc("version", 1);
+		if(status == StatusEnum.Assigned) {
+			update.set("assignedUser", user).set("assignedUserSummary", new UserSummary(user));
+		}
+		FindAndModifyOptions options = FindAndModifyOptions.options().returnNew(false);
+		return this.mongoTemplate.findAndModify(new Query(criteria), update, options, Ticket.class)
+				.map(this::detachUsers)
+				.flatMap(ticket -> {
+					StatusEnum previous = ticket.getStatus();
+					ticket.setStatus(status);
+					ticket.setVersion(ticket.getVersion() == null ? 1L : ticket.getVersion() + 1);
+					if(status == StatusEnum.Assigned) {
+						ticket.setAssignedUser(user);
+						ticket.setAssignedUserSummary(new UserSummary(user));
+					}
+					this.summaryService.onStatusChanged(previous, status);
+					publish(TicketEvent.Type.STATUS_CHANGED, ticket, previous);
+					ChangeStatus changeStatus = new ChangeStatus();
+					changeStatus.setUserChange(user);
+					changeStatus.setUserChangeSummary(new UserSummary(user));
+					changeStatus.setDateChangeStatus(new Date());
+					changeStatus.setStatus(status);
+					changeStatus.setTicket(ticket);
+					return Mono.fromCallable(() -> this.changeStatusWriter.write(changeStatus))
+							.subscribeOn(Schedulers.elastic())
+							.then(Mono.just(ticket));
+				})
+				.switchIfEmpty(Mono.defer(() -> conflictOrEmpty(id, expected, "Ticket status is no longer " + expected)));
+	}
+
+	@Override
+	public Flux<ChangeStatus> listChangeStatus(String ticketId) {
+		return readChangeStatus(changeStatusQuery(ticketId));
+	}
+
+	@Override
+	public Mono<Slice<ChangeStatus>> listChangeStatus(String ticketId, int page, int count) {
+		Pageable pages = PageRequest.of(page, count);
+		Query query = changeStatusQuery(ticketId).skip(pages.getOffset()).limit(count + 1);
+		return readChangeStatus(query).collectList().map(changes -> {
+			boolean hasNext = changes.size() > count;
+			return new SliceImpl<ChangeStatus>(hasNext ? changes.subList(0, count) : changes, pages, hasNext);
+		});
+	}
+
+	@Override
+	public Mono<Page<TicketListItem>> findByCurrentUser(int page, int count, String userId) {
+		return findByCriteria(page, count, Criteria.where("user.id").is(userId));
+	}
+
+	@Override
+	public Mono<Page<TicketListItem>> findByParameters(int page, int count, String title, String status,
+			String priority) {
+		return findByCriteria(page, count, TicketCriteria.parameters(title, status, priority, null, null));
+	}
+
+	@Override
+	public Mono<Page<TicketListItem>> findByParametersAndCurrentUser(int page, int count, String title,
+			String status, String priority, String userId) {
+		return findByCriteria(page, count, TicketCriteria.parameters(title, status, priority, userId, null));
+	}
+
+	@Override
+	public Mono<Page<TicketListItem>> findByNumber(int page, int count, Integer number) {
+		Pageable pages = PageRequest.of(page, count);
+		return this.ticketRepository.findListItems(Criteria.where("number").is(number), pages);
+	}
+
+	@Override
+	public Mono<Page<TicketListItem>> findByParameterAndAssignedUser(int page, int count, String title,
+			String status, String priority, String assignedUser) {
+		return findByCriteria(page, count, TicketCriteria.parameters(title, status, priority, null, assignedUser));
+	}
+
+	private Mono<Page<TicketListItem>> findByCriteria(int page, int count, Criteria criteria) {
+		Pageable pages = PageRequest.of(page, count, Sort.by(Direction.DESC, "date"));
+		return this.ticketRepository.findListItems(criteria, pages);
+	}
+
+	private Mono<Ticket> conflictOrEmpty(String id, Object expected, String message) {
+		if(expected == null) {
+			return Mono.empty();
+		}
+		return this.mongoTemplate.exists(new Query(Criteria.where("id").is(id)), Ticket.class)
+				.flatMap(exists -> exists ? Mono.<Ticket>error(new OptimisticLockingFailureException(message)) : Mono.<Ticket>empty());
+	}
+
+	private Query changeStatusQuery(String ticketId) {
+		Object id = ObjectId.isValid(ticketId) ? new ObjectId(ticketId) : ticketId;
+		Query query = new Query(Criteria.where("ticket.$id").is(id));
+		query.fields().exclude("ticket");
+		return query.with(Sort.by(Direction.DESC, "dateChangeStatus"));
+	}
+
+	private Flux<ChangeStatus> readChangeStatus(Query query) {
+		String collection = this.mongoTemplate.getCollectionName(ChangeStatus.class);
+		return this.mongoTemplate.find(query, Document.class, collection).collectList().flatMapMany(documents -> {
+			List<ChangeStatus> changes = new ArrayList<>();
+			List<String> userIds = new ArrayList<>();
+			Set<String> missing = new HashSet<>();
+			for (Document document : documents) {
+				Object userChange = document.remove("userChange");
+				String userId = userChange instanceof DBRef ? ((DBRef) userChange).getId().toString() : null;
+				ChangeStatus changeStatus = this.mongoTemplate.getConverter().read(ChangeStatus.class, document);
+				if(changeStatus.getUserChangeSummary() == null && userId != null) {
+					missing.add(userId);
+				}
+				changes.add(changeStatus);
+				userIds.add(userId);
+			}
+			Mono<Map<String, User>> users = missing.isEmpty() ? Mono.just(Collections.<String, User>emptyMap())
+					: this.userRepository.findAllById(missing).doOnNext(user -> user.setPassword(null)).collectMap(User::getId);
+			return users.flatMapMany(found -> {
+				for (int i = 0; i < changes.size(); i++) {
+					ChangeStatus changeStatus = changes.get(i);
+					UserSummary summary = changeStatus.getUserChangeSummary();
+					changeStatus.setUserChange(summary != null ? summary.toUser() : found.get(userIds.get(i)));
+				}
+				return Flux.fromIterable(changes);
+			});
+		});
+	}
+
+	/*
+	 * Lazy proxies would block the event loop as soon as they are serialized, so they are
+	 * swapped for users built from the summaries before a ticket leaves the service.
+	 */
+	private Ticket detachUsers(Ticket ticket) {
+		ticket.setUser(detach(ticket.getUser(), ticket.getUserSummary()));
+		ticket.setAssignedUser(detach(ticket.getAssignedUser(), ticket.getAssignedUserSummary()));
+		return ticket;
+	}
+
+	private User detach(User user, UserSummary summary) {
+		if(summary != null) {
+			return summary.toUser();
+		}
+		String id = DbRefUtil.idOf(user);
+		if(id == null) {
+			return null;
+		}
+		User reference = new User();
+		reference.setId(id);
+		return reference;
+	}
+
+	private void publish(TicketEvent.Type type, Ticket ticket, StatusEnum previous) {
+		TicketEvent event = new TicketEvent(type, TicketListItem.of(ticket), previous, DbRefUtil.idOf(ticket.getUser()));
+		this.eventPublisher.publishEvent(event);
+	}
+
+	private UserSummary summaryOf(User user) {
+		return user == null || user.getId() == null ? null : new UserSummary(user);
+	}
+
+	private Mono<Ticket> findStatusAndImage(String id) {
+		Query query = new Query(Criteria.where("id").is(id));
+		query.fields().include("status").include("imageId");
+		return this.mongoTemplate.findOne(query, Ticket.class);
+	}
+
+	private Mono<Optional<String>> storeImage(Ticket ticket) {
+		if(ticket.getImage() == null) {
+			return Mono.just(Optional.empty());
+		}
+		return Mono.fromCallable(() -> this.attachmentService.storeDataUrl(ticket.getImage(), "ticket-image"))
+				.subscribeOn(Schedulers.elastic())
+				.map(imageId -> {
+					ticket.setImageId(imageId);
+					ticket.setImage(null);
+					return Optional.of(imageId);
+				});
+	}
+
+	private void deleteImage(String imageId) {
+		if(imageId != null) {
+			Mono.fromRunnable(() -> this.attachmentService.delete(imageId)).subscribeOn(Schedulers.elastic()).subscribe();
+		}
+	}
+
+}
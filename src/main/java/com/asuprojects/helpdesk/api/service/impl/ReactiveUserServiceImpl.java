@@ -0,0 +1,74 @@
+package com.asuprojects.helpdesk.api.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.repository.reactive.ReactiveUserRepository;
+import com.asuprojects.helpdesk.api.service.ReactiveUserService;
+
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+
+	@Autowired
+	private ReactiveUserRepository userRepository;
+	
+	@Autowired
+	private ReactiveMongoTemplate mongoTemplate;
+	
+	@Override
+	public Mono<User> findByEmail(String email) {
+		return userRepository.findByEmail(email);
+	}
+
+	@Override
+	public Mono<User> createOrUpdate(User user) {
+		boolean existing = user.getId() != null;
+		Mono<User> userPersisted = userRepository.save(user);
+		if(!existing) {
+			return userPersisted;
+		}
+		return userPersisted.flatMap(persisted -> updateTicketSummaries("userSummary", persisted)
+				.then(updateTicketSummaries("assignedUserSummary", persisted))
+				.then(Mono.just(persisted)));
+	}
+
+	@Override
+	public Mono<User> findById(String id) {
+		return userRepository.findById(id);
+	}
+
+	@Override
+	public Mono<Void> delete(String id) {
+		return userRepository.deleteById(id);
+	}
+
+	@Override
+	public Mono<Page<User>> findAll(int page, int count) {
+		Pageable pages = PageRequest.of(page, count);
+		return userRepository.findAllBy(pages).collectList()
+				.zipWith(userRepository.count())
+				.map(result -> new PageImpl<User>(result.getT1(), pages, result.getT2()));
+	}
+
+	private Mono<Void> updateTicketSummaries(String field, User user) {
+		Query query = new Query(Criteria.where(field + ".id").is(user.getId()));
+		Update update = new Update().set(field + ".email", user.getEmail()).set(field + ".profile", user.getProfile());
+		return mongoTemplate.updateMulti(query, update, Ticket.class).then();
+	}
+
+}
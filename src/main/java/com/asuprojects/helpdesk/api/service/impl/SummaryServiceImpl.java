@@ -0,0 +1,233 @@
+package com.asuprojects.helpdesk.api.service.impl;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.asuprojects.helpdesk.api.dto.Summary;
+import com.asuprojects.helpdesk.api.dto.SummaryBreakdown;
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.enums.StatusEnum;
+import com.asuprojects.helpdesk.api.event.DomainChangeEvent;
+import com.asuprojects.helpdesk.api.event.TicketEvent;
+import com.asuprojects.helpdesk.api.repository.SummaryRepository;
+import com.asuprojects.helpdesk.api.service.SummaryService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Service
+public class SummaryServiceImpl implements SummaryService {
+
+	private final Log logger = LogFactory.getLog(this.getClass());
+
+	private final Map<StatusEnum, AtomicLong> counters = new EnumMap<>(StatusEnum.class);
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Autowired
+	private SummaryRepository summaryRepository;
+
+	@Value("${summary.rebuild-interval}")
+	private long rebuildInterval;
+
+	private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+	private final AtomicLong lastRebuild = new AtomicLong();
+
+	/* tickets written on this node whose change stream event has not arrived yet */
+	private final Cache<String, Boolean> ownWrites = Caffeine.newBuilder()
+			.maximumSize(10000)
+			.expireAfterWrite(1, TimeUnit.MINUTES)
+			.build();
+
+	private final ScheduledExecutorService rebuilds = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "summary-rebuild");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public SummaryServiceImpl() {
+		for (StatusEnum status : StatusEnum.values()) {
+			counters.put(status, new AtomicLong());
+		}
+	}
+
+	@PostConstruct
+	public void init() {
+		rebuild();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		rebuilds.shutdownNow();
+	}
+
+	@EventListener
+	public void onTicketEvent(TicketEvent event) {
+		if (event.getTicket() != null && event.getTicket().getId() != null) {
+			ownWrites.put(event.getTicket().getId(), Boolean.TRUE);
+		}
+	}
+
+	/*
+	 * Writes made on this node were already counted when they were made, so their change
+	 * stream events are skipped. Another node's insert carries its status and is counted as it
+	 * arrives; its status updates and deletes carry no previous status, so they ask for a
+	 * recount, run at most once per rebuild interval however many arrive. Replaces are
+	 * full-ticket edits with no pre-image either, and are left to the scheduled reconciliation.
+	 */
+	@EventListener
+	public void onDomainChange(DomainChangeEvent event) {
+		if (event.getEntity() != DomainChangeEvent.Entity.TICKET || !event.touches("status")) {
+			return;
+		}
+		if (event.getId() != null && ownWrites.asMap().remove(event.getId()) != null) {
+			return;
+		}
+		if (event.getOperation() == DomainChangeEvent.Operation.INSERT && event.getDocument() != null) {
+			Object status = event.getDocument().get("status");
+			onCreated(status == null ? null : StatusEnum.valueOf(status.toString()));
+			return;
+		}
+		if (rebuildPending.compareAndSet(false, true)) {
+			long delay = Math.max(0, lastRebuild.get() + rebuildInterval - System.currentTimeMillis());
+			rebuilds.schedule(() -> {
+				rebuildPending.set(false);
+				reconcile();
+			}, delay, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@Override
+	public Summary getSummary() {
+		Summary summary = new Summary();
+		summary.setAmountNew(amount(StatusEnum.New));
+		summary.setAmountApproved(amount(StatusEnum.Approved));
+		summary.setAmountDisapproved(amount(StatusEnum.Disapproved));
+		summary.setAmountResolved(amount(StatusEnum.Resolved));
+		summary.setAmountAssigned(amount(StatusEnum.Assigned));
+		summary.setAmountClosed(amount(StatusEnum.Closed));
+		return summary;
+	}
+
+	@Override
+	public long getTotal() {
+		long total = 0;
+		for (AtomicLong counter : counters.values()) {
+			total += counter.get();
+		}
+		return total;
+	}
+
+	@Override
+	public SummaryBreakdown getBreakdown() {
+		return summaryRepository.findBreakdown();
+	}
+
+	@Override
+	public Map<String, Summary> countByPriority() {
+		return summaryRepository.countByPriority();
+	}
+
+	@Override
+	public Map<String, Summary> countByUser() {
+		return summaryRepository.countByUser();
+	}
+
+	@Override
+	public Map<String, Summary> countByAssignedUser() {
+		return summaryRepository.countByAssignedUser();
+	}
+
+	@Override
+	public void onCreated(StatusEnum status) {
+		if (status != null) {
+			counters.get(status).incrementAndGet();
+		}
+	}
+
+	@Override
+	public void onStatusChanged(StatusEnum previous, StatusEnum current) {
+		if (previous == current) {
+			return;
+		}
+		onDeleted(previous);
+		onCreated(current);
+	}
+
+	@Override
+	public void onDeleted(StatusEnum status) {
+		if (status != null) {
+			counters.get(status).decrementAndGet();
+		}
+	}
+
+	/*
+	 * Moves each counter by the difference between the recount and its value when the
+	 * recount started, so increments made while the aggregation runs are kept.
+	 */
+	@Override
+	public void rebuild() {
+		lastRebuild.set(System.currentTimeMillis());
+		Map<StatusEnum, Long> before = new EnumMap<>(StatusEnum.class);
+		for (StatusEnum status : StatusEnum.values()) {
+			before.put(status, counters.get(status).get());
+		}
+		Map<StatusEnum, Long> counts = countByStatus();
+		for (StatusEnum status : StatusEnum.values()) {
+			long amount = counts.getOrDefault(status, 0L);
+			long previous = before.get(status);
+			if (previous != amount) {
+				counters.get(status).addAndGet(amount - previous);
+				logger.info("Summary counter " + status + " reconciled from " + previous + " to " + amount);
+			}
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${summary.reconcile.interval}", initialDelayString = "${summary.reconcile.interval}")
+	public void reconcile() {
+		try {
+			rebuild();
+		} catch (Exception e) {
+			logger.warn("Summary reconciliation failed: " + e.getMessage());
+		}
+	}
+
+	private Map<StatusEnum, Long> countByStatus() {
+		Aggregation aggregation = Aggregation.newAggregation(Aggregation.group("status").count().as("count"));
+		AggregationResults<Document> results = mongoTemplate.aggregate(aggregation, Ticket.class, Document.class);
+		Map<StatusEnum, Long> counts = new EnumMap<>(StatusEnum.class);
+		for (Document document : results) {
+			Object status = document.get("_id");
+			if (status != null) {
+				counts.put(StatusEnum.valueOf(status.toString()), ((Number) document.get("count")).longValue());
+			}
+		}
+		return counts;
+	}
+
+	private Integer amount(StatusEnum status) {
+		return (int) counters.get(status).get();
+	}
+
+}
@@ -0,0 +1,38 @@
+package com.asuprojects.helpdesk.api.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.util.StringUtils;
+
+final class TicketCriteria {
+
+	private TicketCriteria() {}
+
+	/*
+	 * Blank parameters are left out of the filter; status and priority are enums, so they are
+	 * matched by equality, and only the title keeps a case-insensitive substring match.
+	 */
+	static Criteria parameters(String title, String status, String priority, String userId, String assignedUser) {
+		List<Criteria> criteria = new ArrayList<>();
+		if(StringUtils.hasText(title)) {
+			criteria.add(Criteria.where("title").regex(Pattern.quote(title), "i"));
+		}
+		if(StringUtils.hasText(status)) {
+			criteria.add(Criteria.where("status").is(status));
+		}
+		if(StringUtils.hasText(priority)) {
+			criteria.add(Criteria.where("priority").is(priority));
+		}
+		if(StringUtils.hasText(userId)) {
+			criteria.add(Criteria.where("user.id").is(userId));
+		}
+		if(StringUtils.hasText(assignedUser)) {
+			criteria.add(Criteria.where("assignedUser.id").is(assignedUser));
+		}
+		return criteria.isEmpty() ? new Criteria() : new Criteria().andOperator(criteria.toArray(new Criteria[0]));
+	}
+
+}
@@ -0,0 +1,246 @@
+package com.asuprojects.helpdesk.api.service.impl;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.enums.ProfileEnum;
+import com.asuprojects.helpdesk.api.event.TicketEvent;
+import com.asuprojects.helpdesk.api.service.TicketEventService;
+
+/*
+ * Every event gets a sequence number and is kept in a short replay buffer, so a client that
+ * reconnects with Last-Event-ID receives what it missed; when the gap is no longer in the
+ * buffer a "reset" event tells it to reload the board. The stream only carries writes made
+ * on this node, and event ids are prefixed with a per-process node id, so a client that
+ * reconnects to another node or after a restart is told to reset instead of resuming from
+ * an unrelated sequence; deployments with several nodes need sticky sessions for the stream.
+ * Events are queued per subscriber and written by a small pool, so a slow connection never
+ * holds up the request that published the event. A subscriber whose queue is full is closed
+ * and resumes on reconnect.
+ */
+@Service
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class TicketEventServiceImpl implements TicketEventService {
+
+	private static final String RESET = "reset";
+
+	private final Log logger = LogFactory.getLog(this.getClass());
+
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+	private final Deque<Sequenced> replay = new ArrayDeque<>();
+
+	private final String node = UUID.randomUUID().toString().substring(0, 8);
+
+	private long sequence;
+
+	@Value("${ticket.events.buffer-size}")
+	private int bufferSize;
+
+	@Value("${ticket.events.replay-size}")
+	private int replaySize;
+
+	@Value("${ticket.events.timeout}")
+	private long timeout;
+
+	private final ExecutorService senders = Executors.newFixedThreadPool(
+			Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+				Thread thread = new Thread(runnable, "ticket-events");
+				thread.setDaemon(true);
+				return thread;
+			});
+
+	@PreDestroy
+	public void shutdown() {
+		for (Subscriber subscriber : subscribers) {
+			subscriber.emitter.complete();
+		}
+		senders.shutdownNow();
+	}
+
+	@Override
+	public SseEmitter subscribe(User user, String lastEventId) {
+		Subscriber subscriber = new Subscriber(user, createEmitter(), bufferSize);
+		subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+		subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+		subscriber.emitter.onError(error -> subscribers.remove(subscriber));
+		synchronized (replay) {
+			if (StringUtils.hasText(lastEventId)) {
+				resume(subscriber, lastEventId);
+			}
+			subscribers.add(subscriber);
+		}
+		drain(subscriber);
+		return subscriber.emitter;
+	}
+
+	SseEmitter createEmitter() {
+		return new SseEmitter(timeout);
+	}
+
+	@Override
+	public int getSubscriberCount() {
+		return subscribers.size();
+	}
+
+	@EventListener
+	public void onTicketEvent(TicketEvent event) {
+		synchronized (replay) {
+			Sequenced sequenced = new Sequenced(++sequence, event);
+			replay.addLast(sequenced);
+			if (replay.size() > replaySize) {
+				replay.removeFirst();
+			}
+			for (Subscriber subscriber : subscribers) {
+				if (canSee(subscriber, event)) {
+					enqueue(subscriber, toSse(sequenced));
+				}
+			}
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${ticket.events.heartbeat-interval}")
+	public void heartbeat() {
+		for (Subscriber subscriber : subscribers) {
+			enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+		}
+	}
+
+	/*
+	 * Called with the replay buffer locked, before the subscriber is registered, so no event
+	 * can be delivered twice or fall between the replay and the live stream.
+	 */
+	private void resume(Subscriber subscriber, String lastEventId) {
+		long last = -1;
+		int separator = lastEventId.lastIndexOf(':');
+		if (separator > 0 && node.equals(lastEventId.substring(0, separator))) {
+			try {
+				last = Long.parseLong(lastEventId.substring(separator + 1));
+			} catch (NumberFormatException e) {
+				last = -1;
+			}
+		}
+		long oldest = replay.isEmpty() ? sequence + 1 : replay.getFirst().id;
+		if (last < oldest - 1 || last > sequence) {
+			subscriber.queue.offer(SseEmitter.event().id(eventId(sequence)).name(RESET).data(""));
+			return;
+		}
+		for (Sequenced sequenced : replay) {
+			if (sequenced.id > last && canSee(subscriber, sequenced.event)
+					&& !subscriber.queue.offer(toSse(sequenced))) {
+				subscriber.queue.clear();
+				subscriber.queue.offer(SseEmitter.event().id(eventId(sequence)).name(RESET).data(""));
+				return;
+			}
+		}
+	}
+
+	private boolean canSee(Subscriber subscriber, TicketEvent event) {
+		if (ProfileEnum.ROLE_TECHNICIAN.equals(subscriber.profile)) {
+			return true;
+		}
+		return subscriber.userId != null && subscriber.userId.equals(event.getOwnerId());
+	}
+
+	private SseEventBuilder toSse(Sequenced sequenced) {
+		return SseEmitter.event().id(eventId(sequenced.id))
+				.name(sequenced.event.getType().name().toLowerCase())
+				.data(sequenced.event, MediaType.APPLICATION_JSON);
+	}
+
+	private String eventId(long id) {
+		return node + ":" + id;
+	}
+
+	private void enqueue(Subscriber subscriber, SseEventBuilder event) {
+		if (!subscriber.queue.offer(event)) {
+			logger.debug("Closing slow event subscriber " + subscriber.userId);
+			subscribers.remove(subscriber);
+			subscriber.emitter.complete();
+			return;
+		}
+		drain(subscriber);
+	}
+
+	private void drain(Subscriber subscriber) {
+		if (subscriber.queue.isEmpty() || !subscriber.sending.compareAndSet(false, true)) {
+			return;
+		}
+		senders.execute(() -> {
+			try {
+				List<SseEventBuilder> batch = new ArrayList<>();
+				subscriber.queue.drainTo(batch);
+				for (SseEventBuilder event : batch) {
+					subscriber.emitter.send(event);
+				}
+			} catch (IOException | IllegalStateException e) {
+				subscribers.remove(subscriber);
+				subscriber.emitter.completeWithError(e);
+				subscriber.queue.clear();
+			} finally {
+				subscriber.sending.set(false);
+			}
+			drain(subscriber);
+		});
+	}
+
+	private static class Sequenced {
+
+		private final long id;
+
+		private final TicketEvent event;
+
+		Sequenced(long id, TicketEvent event) {
+			this.id = id;
+			this.event = event;
+		}
+	}
+
+	private static class Subscriber {
+
+		private final String userId;
+
+		private final ProfileEnum profile;
+
+		private final SseEmitter emitter;
+
+		private final BlockingQueue<SseEventBuilder> queue;
+
+		private final AtomicBoolean sending = new AtomicBoolean();
+
+		Subscriber(User user, SseEmitter emitter, int bufferSize) {
+			this.userId = user.getId();
+			this.profile = user.getProfile();
+			this.emitter = emitter;
+			this.queue = new ArrayBlockingQueue<>(bufferSize);
+		}
+	}
+
+}
@@ -0,0 +1,116 @@
+package com.asuprojects.helpdesk.api.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Service;
+
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.service.TicketExportService;
+import com.asuprojects.helpdesk.api.service.UserReferenceLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * Tickets are read from a single cursor and written as they arrive; only one batch is held
+ * in memory, which is also the unit in which user references are resolved and flushed.
+ */
+@Service
+public class TicketExportServiceImpl implements TicketExportService {
+
+	private static final int BATCH_SIZE = 500;
+
+	private static final String[] CSV_HEADER = { "id", "number", "title", "status", "priority", "date", "user",
+			"assignedUser", "description" };
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Autowired
+	private UserReferenceLoader userReferenceLoader;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Override
+	public void export(OutputStream output, String format, String title, String status, String priority,
+			String userId, String assignedUser) throws IOException {
+		Query query = new Query(TicketCriteria.parameters(title, status, priority, userId, assignedUser));
+		query.fields().exclude("image");
+		query.with(Sort.by(Direction.ASC, "id"));
+		Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+		boolean csv = CSV.equals(format);
+		if (csv) {
+			writeCsvRow(writer, CSV_HEADER);
+		}
+		List<Ticket> batch = new ArrayList<>(BATCH_SIZE);
+		try (CloseableIterator<Ticket> tickets = mongoTemplate.stream(query, Ticket.class)) {
+			while (tickets.hasNext()) {
+				batch.add(tickets.next());
+				if (batch.size() == BATCH_SIZE) {
+					writeBatch(writer, batch, csv);
+					batch.clear();
+				}
+			}
+		}
+		writeBatch(writer, batch, csv);
+	}
+
+	private void writeBatch(Writer writer, List<Ticket> batch, boolean csv) throws IOException {
+		userReferenceLoader.resolve(batch);
+		for (Ticket ticket : batch) {
+			if (csv) {
+				writeCsvRow(writer, new String[] { ticket.getId(), toString(ticket.getNumber()), ticket.getTitle(),
+						toString(ticket.getStatus()), toString(ticket.getPriority()),
+						ticket.getDate() == null ? null : DateTimeFormatter.ISO_INSTANT.format(ticket.getDate().toInstant()),
+						emailOf(ticket.getUser()), emailOf(ticket.getAssignedUser()), ticket.getDescription() });
+			} else {
+				writer.write(objectMapper.writeValueAsString(ticket));
+				writer.write('\n');
+			}
+		}
+		writer.flush();
+	}
+
+	private void writeCsvRow(Writer writer, String[] values) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			writer.write(escapeCsv(values[i]));
+		}
+		writer.write("\r\n");
+	}
+
+	private String escapeCsv(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+	private String emailOf(User user) {
+		return user == null ? null : user.getEmail();
+	}
+
+	private String toString(Object value) {
+		return value == null ? null : value.toString();
+	}
+
+}
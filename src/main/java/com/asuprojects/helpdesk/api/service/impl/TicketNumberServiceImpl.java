@@ -0,0 +1,112 @@
+package com.asuprojects.helpdesk.api.service.impl;
+
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.asuprojects.helpdesk.api.entity.Counter;
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.service.TicketNumberService;
+
+/*
+ * Hands out ticket numbers from blocks leased atomically from a counter document, so each
+ * instance only goes to Mongo once per block and numbers stay unique across instances.
+ */
+@Service
+public class TicketNumberServiceImpl implements TicketNumberService {
+
+	static final String TICKET_COUNTER = "ticket";
+
+	private final Log logger = LogFactory.getLog(this.getClass());
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Value("${ticket.number.block-size}")
+	private int blockSize;
+
+	private long next = 1;
+
+	private long last = 0;
+
+	@PostConstruct
+	public void init() {
+		seedCounter();
+	}
+
+	@Override
+	public synchronized Integer next() {
+		if (next > last) {
+			lease();
+		}
+		return Math.toIntExact(next++);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public int renumberDuplicates() {
+		Aggregation aggregation = Aggregation.newAggregation(
+				Aggregation.match(Criteria.where("number").exists(true)),
+				Aggregation.group("number").count().as("count").push("_id").as("ids"),
+				Aggregation.match(Criteria.where("count").gt(1)));
+		List<Document> duplicates = mongoTemplate.aggregate(aggregation, Ticket.class, Document.class).getMappedResults();
+		int renumbered = 0;
+		for (Document duplicate : duplicates) {
+			List<Object> ids = (List<Object>) duplicate.get("ids");
+			for (Object id : ids.subList(1, ids.size())) {
+				mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(id)), Update.update("number", next()), Ticket.class);
+				renumbered++;
+			}
+		}
+		if (renumbered > 0) {
+			logger.info("Renumbered " + renumbered + " tickets with duplicated numbers");
+		}
+		return renumbered;
+	}
+
+	private void lease() {
+		Query query = new Query(Criteria.where("id").is(TICKET_COUNTER));
+		Update update = new Update().inc("seq", blockSize);
+		FindAndModifyOptions options = FindAndModifyOptions.options().returnNew(true).upsert(true);
+		Counter counter = mongoTemplate.findAndModify(query, update, options, Counter.class);
+		last = counter.getSeq();
+		next = last - blockSize + 1;
+	}
+
+	/*
+	 * The counter starts above the highest number in use, so leased blocks never collide with
+	 * the randomly generated numbers of older tickets.
+	 */
+	private void seedCounter() {
+		Query query = new Query(Criteria.where("id").is(TICKET_COUNTER));
+		if (mongoTemplate.exists(query, Counter.class)) {
+			return;
+		}
+		Query highest = new Query().with(Sort.by(Direction.DESC, "number")).limit(1);
+		highest.fields().include("number");
+		Ticket ticket = mongoTemplate.findOne(highest, Ticket.class);
+		long seq = ticket == null || ticket.getNumber() == null ? 0 : ticket.getNumber();
+		try {
+			mongoTemplate.insert(new Counter(TICKET_COUNTER, seq));
+		} catch (DuplicateKeyException e) {
+			logger.debug("Ticket counter already seeded by another instance");
+		}
+	}
+
+}
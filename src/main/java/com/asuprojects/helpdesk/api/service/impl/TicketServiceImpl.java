@@ -1,92 +1,445 @@
 package com.asuprojects.helpdesk.api.service.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.LazyLoadingProxy;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.repository.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
+import com.asuprojects.helpdesk.api.dto.BulkItemResult;
+import com.asuprojects.helpdesk.api.dto.CursorSlice;
+import com.asuprojects.helpdesk.api.dto.KeysetCursor;
+import com.asuprojects.helpdesk.api.dto.TicketListItem;
 import com.asuprojects.helpdesk.api.entity.ChangeStatus;
 import com.asuprojects.helpdesk.api.entity.Ticket;
-import com.asuprojects.helpdesk.api.repository.ChangeStatusRepository;
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.entity.UserSummary;
+import com.asuprojects.helpdesk.api.enums.StatusEnum;
+import com.asuprojects.helpdesk.api.event.TicketEvent;
+import com.asuprojects.helpdesk.api.repository.DbRefUtil;
 import com.asuprojects.helpdesk.api.repository.TicketRepository;
+import com.asuprojects.helpdesk.api.service.AttachmentService;
+import com.asuprojects.helpdesk.api.service.ChangeStatusWriter;
+import com.asuprojects.helpdesk.api.service.SummaryService;
+import com.asuprojects.helpdesk.api.service.TicketNumberService;
 import com.asuprojects.helpdesk.api.service.TicketService;
+import com.asuprojects.helpdesk.api.service.TicketTypeaheadService;
+import com.asuprojects.helpdesk.api.service.UserReferenceLoader;
+import com.mongodb.BulkWriteError;
+import com.mongodb.DBRef;
 
 @Service
 public class TicketServiceImpl implements TicketService{
 
+	/* raw field, not mapped on Ticket: the last bulk request that changed the document */
+	private static final String BULK_MARKER = "bulkOperation";
+
 	@Autowired
 	private TicketRepository ticketRepository; 
 	
 	@Autowired
-	private ChangeStatusRepository changeStatusRepository; 
+	private ChangeStatusWriter changeStatusWriter;
+	
+	@Autowired
+	private SummaryService summaryService;
+	
+	@Autowired
+	private MongoTemplate mongoTemplate;
+	
+	@Autowired(required = false)
+	private TicketTypeaheadService typeaheadService;
+	
+	@Autowired
+	private UserReferenceLoader userReferenceLoader;
+	
+	@Autowired
+	private AttachmentService attachmentService;
+	
+	@Autowired
+	private TicketNumberService ticketNumberService;
+	
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
 	
 	@Override
 	public Ticket createOrUpdate(Ticket ticket) {
-		return this.ticketRepository.save(ticket);
+		ticket.setUserSummary(summaryOf(ticket.getUser(), ticket.getUserSummary()));
+		ticket.setAssignedUserSummary(summaryOf(ticket.getAssignedUser(), ticket.getAssignedUserSummary()));
+		Ticket current = ticket.getId() == null ? null : findStatusAndImage(ticket.getId());
+		String storedImageId = storeImage(ticket);
+		Ticket ticketPersisted;
+		try {
+			ticketPersisted = this.ticketRepository.save(ticket);
+		} catch (RuntimeException e) {
+			this.attachmentService.delete(storedImageId);
+			throw e;
+		}
+		if(current != null && storedImageId != null) {
+			this.attachmentService.delete(current.getImageId());
+		}
+		if(current == null) {
+			this.summaryService.onCreated(ticketPersisted.getStatus());
+			publish(TicketEvent.Type.CREATED, ticketPersisted, null);
+		} else {
+			this.summaryService.onStatusChanged(current.getStatus(), ticketPersisted.getStatus());
+			publish(TicketEvent.Type.UPDATED, ticketPersisted, current.getStatus());
+		}
+		if(this.typeaheadService != null) {
+			this.typeaheadService.index(ticketPersisted);
+		}
+		return ticketPersisted;
+	}
+
+	/*
+	 * Only the fields present in the request are written, with a $set guarded by the version
+	 * the client last read; a stale version fails instead of overwriting a concurrent edit.
+	 */
+	@Override
+	public Ticket patch(String id, Ticket changes) {
+		if(changes.getVersion() == null) {
+			throw new IllegalArgumentException("Version required");
+		}
+		Update update = new Update().inc("version", 1);
+		if(changes.getTitle() != null) {
+			update.set("title", changes.getTitle());
+		}
+		if(changes.getDescription() != null) {
+			update.set("description", changes.getDescription());
+		}
+		if(changes.getPriority() != null) {
+			update.set("priority", changes.getPriority());
+		}
+		String previousImageId = null;
+		String storedImageId = null;
+		if(changes.getImage() != null) {
+			previousImageId = findImageId(id);
+			storedImageId = storeImage(changes);
+			update.set("imageId", storedImageId).unset("image");
+		}
+		Criteria criteria = Criteria.where("id").is(id).and("version").is(changes.getVersion());
+		FindAndModifyOptions options = FindAndModifyOptions.options().returnNew(true);
+		Ticket ticket = this.mongoTemplate.findAndModify(new Query(criteria), update, options, Ticket.class);
+		if(ticket == null) {
+			this.attachmentService.delete(storedImageId);
+			if(this.mongoTemplate.exists(new Query(Criteria.where("id").is(id)), Ticket.class)) {
+				throw new OptimisticLockingFailureException("Ticket was modified by another request");
+			}
+			return null;
+		}
+		if(storedImageId != null) {
+			this.attachmentService.delete(previousImageId);
+		}
+		if(this.typeaheadService != null && changes.getTitle() != null) {
+			this.typeaheadService.index(ticket);
+		}
+		publish(TicketEvent.Type.UPDATED, ticket, ticket.getStatus());
+		return ticket;
 	}
 
 	@Override
 	public Optional<Ticket> findById(String id) {
 		return this.ticketRepository.findById(id);
 	}
+
+	@Override
+	public String findImageId(String id) {
+		Query query = new Query(Criteria.where("id").is(id));
+		query.fields().include("imageId");
+		Ticket ticket = this.mongoTemplate.findOne(query, Ticket.class);
+		return ticket == null ? null : ticket.getImageId();
+	}
 	
 	@Override
 	public void delete(String id) {
-		this.ticketRepository.deleteById(id);
-		
+		Query query = new Query(Criteria.where("id").is(id));
+		query.fields().include("status").include("imageId").include("user");
+		Ticket removed = this.mongoTemplate.findAndRemove(query, Ticket.class);
+		if(removed != null) {
+			this.summaryService.onDeleted(removed.getStatus());
+			this.attachmentService.delete(removed.getImageId());
+			publish(TicketEvent.Type.DELETED, removed, removed.getStatus());
+		}
+		if(this.typeaheadService != null) {
+			this.typeaheadService.remove(id);
+		}
 	}
 
 	@Override
-	public Page<Ticket> listTicket(int page, int count) {
+	public Page<TicketListItem> listTicket(int page, int count) {
 		Pageable pages = PageRequest.of(page, count);
-		return this.ticketRepository.findAll(pages);
+		return this.ticketRepository.findListItems(new Criteria(), pages);
 	}
 
 	@Override
 	public ChangeStatus createChangeStatus(ChangeStatus changeStatus) {
-		return this.changeStatusRepository.save(changeStatus);
+		changeStatus.setUserChangeSummary(summaryOf(changeStatus.getUserChange(), changeStatus.getUserChangeSummary()));
+		return this.changeStatusWriter.write(changeStatus);
+	}
+
+	/*
+	 * Applies the transition with a single findAndModify guarded by the status the caller
+	 * expects, so two concurrent transitions cannot both succeed from the same state. Spring
+	 * Data 2.0 has no transaction support, so the history entry is inserted right after.
+	 */
+	@Override
+	public Ticket changeStatus(String id, StatusEnum expected, StatusEnum status, User user) {
+		if(expected == null) {
+			throw new IllegalArgumentException("Expected status required");
+		}
+		Criteria criteria = Criteria.where("id").is(id).and("status").is(expected);
+		Update update = new Update().set("status", status).inc("version", 1);
+		if(status == StatusEnum.Assigned) {
+			update.set("assignedUser", user).set("assignedUserSummary", new UserSummary(user));
+		}
+		FindAndModifyOptions options = FindAndModifyOptions.options().returnNew(false);
+		Ticket ticket = this.mongoTemplate.findAndModify(new Query(criteria), update, options, Ticket.class);
+		if(ticket == null) {
+			if(this.mongoTemplate.exists(new Query(Criteria.where("id").is(id)), Ticket.class)) {
+				throw new OptimisticLockingFailureException("Ticket status is no longer " + expected);
+			}
+			return null;
+		}
+		StatusEnum previous = ticket.getStatus();
+		ticket.setStatus(status);
+		ticket.setVersion(ticket.getVersion() == null ? 1L : ticket.getVersion() + 1);
+		if(status == StatusEnum.Assigned) {
+			ticket.setAssignedUser(user);
+			ticket.setAssignedUserSummary(new UserSummary(user));
+		}
+		this.summaryService.onStatusChanged(previous, status);
+		publish(TicketEvent.Type.STATUS_CHANGED, ticket, previous);
+		ChangeStatus changeStatus = new ChangeStatus();
+		changeStatus.setUserChange(user);
+		changeStatus.setDateChangeStatus(new Date());
+		changeStatus.setStatus(status);
+		changeStatus.setTicket(ticket);
+		createChangeStatus(changeStatus);
+		return ticket;
+	}
+
+	/*
+	 * Imports are written with one unordered bulk insert; ids are assigned up front so every
+	 * item can be reported, and the items rejected by Mongo are taken from the bulk errors.
+	 */
+	@Override
+	public List<BulkItemResult> createAll(List<Ticket> tickets, User user) {
+		List<BulkItemResult> results = new ArrayList<>();
+		List<Ticket> inserts = new ArrayList<>();
+		List<Integer> positions = new ArrayList<>();
+		BulkOperations bulk = this.mongoTemplate.bulkOps(BulkMode.UNORDERED, Ticket.class);
+		for (Ticket ticket : tickets) {
+			if(ticket.getTitle() == null) {
+				results.add(BulkItemResult.failed(null, "No title information"));
+				continue;
+			}
+			ticket.setId(new ObjectId().toHexString());
+			ticket.setVersion(0L);
+			ticket.setStatus(StatusEnum.New);
+			ticket.setUser(user);
+			ticket.setUserSummary(new UserSummary(user));
+			ticket.setAssignedUser(null);
+			ticket.setAssignedUserSummary(null);
+			ticket.setDate(new Date());
+			try {
+				storeImage(ticket);
+			} catch (RuntimeException e) {
+				results.add(BulkItemResult.failed(null, e.getMessage()));
+				continue;
+			}
+			ticket.setNumber(this.ticketNumberService.next());
+			bulk.insert(ticket);
+			positions.add(results.size());
+			inserts.add(ticket);
+			results.add(BulkItemResult.ok(ticket.getId()));
+		}
+		if(inserts.isEmpty()) {
+			return results;
+		}
+		Set<Integer> failed = new HashSet<>();
+		try {
+			bulk.execute();
+		} catch (BulkOperationException e) {
+			for (BulkWriteError error : e.getErrors()) {
+				failed.add(error.getIndex());
+				Ticket ticket = inserts.get(error.getIndex());
+				results.set(positions.get(error.getIndex()), BulkItemResult.failed(ticket.getId(), error.getMessage()));
+				this.attachmentService.delete(ticket.getImageId());
+			}
+		}
+		for (int i = 0; i < inserts.size(); i++) {
+			if(!failed.contains(i)) {
+				this.summaryService.onCreated(StatusEnum.New);
+				publish(TicketEvent.Type.CREATED, inserts.get(i), null);
+				if(this.typeaheadService != null) {
+					this.typeaheadService.index(inserts.get(i));
+				}
+			}
+		}
+		return results;
+	}
+
+	/*
+	 * Each update is guarded by the version read just before, like the single transition is
+	 * guarded by the status. A bulk write only reports totals, so every update also stamps the
+	 * request's marker; when fewer documents matched than were sent, the tickets carrying the
+	 * marker are the ones this request changed, whatever happened to their version since.
+	 */
+	@Override
+	public List<BulkItemResult> changeStatus(List<String> ids, StatusEnum status, User assignedUser, User user) {
+		Map<String, Ticket> current = findForBulkChange(ids);
+		Set<String> applied = current.keySet();
+		if(!current.isEmpty()) {
+			String marker = new ObjectId().toHexString();
+			BulkOperations bulk = this.mongoTemplate.bulkOps(BulkMode.UNORDERED, Ticket.class);
+			for (Ticket ticket : current.values()) {
+				Update update = new Update().set("status", status).set(BULK_MARKER, marker).inc("version", 1);
+				if(assignedUser != null) {
+					update.set("assignedUser", assignedUser).set("assignedUserSummary", new UserSummary(assignedUser));
+				}
+				bulk.updateOne(new Query(Criteria.where("id").is(ticket.getId()).and("version").is(ticket.getVersion())), update);
+			}
+			if(bulk.execute().getMatchedCount() < current.size()) {
+				Query query = new Query(Criteria.where("id").in(current.keySet()).and(BULK_MARKER).is(marker));
+				query.fields().include("id");
+				applied = new HashSet<>();
+				for (Ticket ticket : this.mongoTemplate.find(query, Ticket.class)) {
+					applied.add(ticket.getId());
+				}
+			}
+		}
+		List<ChangeStatus> changes = new ArrayList<>();
+		List<BulkItemResult> results = new ArrayList<>();
+		for (String id : new LinkedHashSet<>(ids)) {
+			if(!current.containsKey(id)) {
+				results.add(BulkItemResult.failed(id, "Register not found for ID: " + id));
+			} else if(!applied.contains(id)) {
+				results.add(BulkItemResult.failed(id, "Ticket was modified by another request"));
+			} else {
+				Ticket ticket = current.get(id);
+				StatusEnum previous = ticket.getStatus();
+				this.summaryService.onStatusChanged(previous, status);
+				ticket.setStatus(status);
+				if(assignedUser != null) {
+					ticket.setAssignedUserSummary(new UserSummary(assignedUser));
+				}
+				publish(TicketEvent.Type.STATUS_CHANGED, ticket, previous);
+				ChangeStatus changeStatus = new ChangeStatus();
+				changeStatus.setUserChange(user);
+				changeStatus.setUserChangeSummary(new UserSummary(user));
+				changeStatus.setDateChangeStatus(new Date());
+				changeStatus.setStatus(status);
+				changeStatus.setTicket(ticket);
+				changes.add(changeStatus);
+				results.add(BulkItemResult.ok(id));
+			}
+		}
+		if(!changes.isEmpty()) {
+			this.changeStatusWriter.writeAll(changes);
+		}
+		return results;
+	}
+
+	@Override
+	public List<BulkItemResult> deleteAll(List<String> ids) {
+		Query query = new Query(Criteria.where("id").in(ids));
+		query.fields().include("status").include("imageId").include("user");
+		Map<String, Ticket> current = new LinkedHashMap<>();
+		for (Ticket ticket : this.mongoTemplate.find(query, Ticket.class)) {
+			current.put(ticket.getId(), ticket);
+		}
+		if(!current.isEmpty()) {
+			this.mongoTemplate.remove(new Query(Criteria.where("id").in(current.keySet())), Ticket.class);
+		}
+		List<BulkItemResult> results = new ArrayList<>();
+		for (String id : new LinkedHashSet<>(ids)) {
+			Ticket removed = current.get(id);
+			if(removed == null) {
+				results.add(BulkItemResult.failed(id, "Register not found for Id: " + id));
+				continue;
+			}
+			this.summaryService.onDeleted(removed.getStatus());
+			this.attachmentService.delete(removed.getImageId());
+			if(this.typeaheadService != null) {
+				this.typeaheadService.remove(id);
+			}
+			publish(TicketEvent.Type.DELETED, removed, removed.getStatus());
+			results.add(BulkItemResult.ok(id));
+		}
+		return results;
 	}
 
 	@Override
 	public Iterable<ChangeStatus> listChangeStatus(String ticketId) {
-		return this.changeStatusRepository.findByTicketIdOrderByDateChangeStatusDesc(ticketId);
+		return readChangeStatus(changeStatusQuery(ticketId));
 	}
 
 	@Override
-	public Page<Ticket> findByCurrentUser(int page, int count, String userId) {
+	public Slice<ChangeStatus> listChangeStatus(String ticketId, int page, int count) {
 		Pageable pages = PageRequest.of(page, count);
-		return this.ticketRepository.findByUserIdOrderByDateDesc(pages, userId);
+		Query query = changeStatusQuery(ticketId).skip(pages.getOffset()).limit(count + 1);
+		List<ChangeStatus> changes = readChangeStatus(query);
+		boolean hasNext = changes.size() > count;
+		return new SliceImpl<ChangeStatus>(hasNext ? changes.subList(0, count) : changes, pages, hasNext);
 	}
 
 	@Override
-	public Page<Ticket> findByParameters(int page, int count, String title, String status, String priority) {
-		Pageable pages = PageRequest.of(page, count);
-		return this.ticketRepository.findByTitleIgnoreCaseContainingAndStatusContainingAndPriorityContainingOrderByDateDesc(title, status, priority, pages);
+	public Page<TicketListItem> findByCurrentUser(int page, int count, String userId) {
+		return findByCriteria(page, count, Criteria.where("user.id").is(userId));
+	}
+
+	@Override
+	public Page<TicketListItem> findByParameters(int page, int count, String title, String status, String priority) {
+		return findByCriteria(page, count, TicketCriteria.parameters(title, status, priority, null, null));
 	}
 
 	@Override
-	public Page<Ticket> findByParametersAndCurrentUser(int page, int count, String title, String status,
+	public Page<TicketListItem> findByParametersAndCurrentUser(int page, int count, String title, String status,
 			String priority, String userId) {
-		Pageable pages = PageRequest.of(page, count);
-		return this.ticketRepository.findByTitleIgnoreCaseContainingAndStatusContainingAndPriorityContainingAndUserIdOrderByDateDesc(
-				title, status, priority, pages, userId);
+		return findByCriteria(page, count, TicketCriteria.parameters(title, status, priority, userId, null));
 	}
 
 	@Override
-	public Page<Ticket> findByNumber(int page, int count, Integer number) {
+	public Page<TicketListItem> findByNumber(int page, int count, Integer number) {
 		Pageable pages = PageRequest.of(page, count);
-		return this.ticketRepository.findByNumber(number, pages);
+		return this.ticketRepository.findListItems(Criteria.where("number").is(number), pages);
 	}
 
 	@Override
-	public Page<Ticket> findByParameterAndAssignedUser(int page, int count, String title, String status,
+	public Page<TicketListItem> findByParameterAndAssignedUser(int page, int count, String title, String status,
 			String priority, String assignedUser) {
-		Pageable pages = PageRequest.of(page, count);
-		return this.ticketRepository.findByTitleIgnoreCaseContainingAndStatusContainingAndPriorityContainingAndAssignedUserIdOrderByDateDesc(
-				title, status, priority, pages, assignedUser);
+		return findByCriteria(page, count, TicketCriteria.parameters(title, status, priority, null, assignedUser));
 	}
 
 	@Override
@@ -94,6 +447,140 @@ public class TicketServiceImpl implements TicketService{
 		return this.ticketRepository.findAll();
 	}
 
+	@Override
+	public CursorSlice<TicketListItem> findByCursor(String cursor, int count, String title, String status, String priority,
+			String userId, String assignedUser, boolean total) {
+		Criteria criteria = TicketCriteria.parameters(title, status, priority, userId, assignedUser);
+		Query query = new Query(criteria);
+		if(StringUtils.hasText(cursor)) {
+			KeysetCursor after = KeysetCursor.decode(cursor);
+			ObjectId id = new ObjectId(after.getId());
+			query = new Query(new Criteria().andOperator(criteria, new Criteria().orOperator(
+					Criteria.where("date").lt(after.getDate()),
+					Criteria.where("date").is(after.getDate()).and("id").lt(id))));
+		}
+		query.with(Sort.by(Direction.DESC, "date", "id")).limit(count + 1);
+		List<TicketListItem> tickets = this.ticketRepository.findListItems(query);
+		String nextCursor = null;
+		if(tickets.size() > count) {
+			tickets = tickets.subList(0, count);
+			TicketListItem last = tickets.get(count - 1);
+			nextCursor = new KeysetCursor(last.getDate(), last.getId()).encode();
+		}
+		Long amount = null;
+		if(total) {
+			boolean filtered = !criteria.getCriteriaObject().isEmpty();
+			amount = filtered ? this.mongoTemplate.count(new Query(criteria), Ticket.class) : this.summaryService.getTotal();
+		}
+		return new CursorSlice<TicketListItem>(tickets, PageRequest.of(0, count), nextCursor, amount);
+	}
+
+	@Override
+	public Page<TicketListItem> search(int page, int count, String text, String status, String priority, String userId,
+			String assignedUser) {
+		Pageable pages = PageRequest.of(page, count);
+		Criteria criteria = TicketCriteria.parameters(null, status, priority, userId, assignedUser);
+		TextCriteria textCriteria = TextCriteria.forDefaultLanguage().matching(text);
+		Query query = TextQuery.queryText(textCriteria).sortByScore().addCriteria(criteria).with(pages);
+		List<TicketListItem> tickets = this.ticketRepository.findListItems(query);
+		return PageableExecutionUtils.getPage(tickets, pages,
+				() -> this.mongoTemplate.count(new Query(textCriteria).addCriteria(criteria), Ticket.class));
+	}
+
+	private Page<TicketListItem> findByCriteria(int page, int count, Criteria criteria) {
+		Pageable pages = PageRequest.of(page, count, Sort.by(Direction.DESC, "date"));
+		return this.ticketRepository.findListItems(criteria, pages);
+	}
+
+	/*
+	 * History rows are read as raw documents without the ticket reference, so neither the
+	 * ticket nor the user DBRefs are resolved one by one; users are taken from the embedded
+	 * summary or loaded with a single $in query for older rows.
+	 */
+	private Query changeStatusQuery(String ticketId) {
+		Object id = ObjectId.isValid(ticketId) ? new ObjectId(ticketId) : ticketId;
+		Query query = new Query(Criteria.where("ticket.$id").is(id));
+		query.fields().exclude("ticket");
+		return query.with(Sort.by(Direction.DESC, "dateChangeStatus"));
+	}
+
+	private List<ChangeStatus> readChangeStatus(Query query) {
+		String collection = this.mongoTemplate.getCollectionName(ChangeStatus.class);
+		List<Document> documents = this.mongoTemplate.find(query, Document.class, collection);
+		List<ChangeStatus> changes = new ArrayList<>();
+		List<String> userIds = new ArrayList<>();
+		Set<String> missing = new HashSet<>();
+		for (Document document : documents) {
+			Object userChange = document.remove("userChange");
+			String userId = userChange instanceof DBRef ? ((DBRef) userChange).getId().toString() : null;
+			ChangeStatus changeStatus = this.mongoTemplate.getConverter().read(ChangeStatus.class, document);
+			if(changeStatus.getUserChangeSummary() == null && userId != null) {
+				missing.add(userId);
+			}
+			changes.add(changeStatus);
+			userIds.add(userId);
+		}
+		Map<String, User> users = this.userReferenceLoader.findUsers(missing);
+		for (int i = 0; i < changes.size(); i++) {
+			ChangeStatus changeStatus = changes.get(i);
+			UserSummary summary = changeStatus.getUserChangeSummary();
+			changeStatus.setUserChange(summary != null ? summary.toUser() : users.get(userIds.get(i)));
+		}
+		return changes;
+	}
+
+	/*
+	 * A lazy reference keeps its stored summary as long as it points to the same user, so
+	 * updates do not have to resolve the proxy just to copy the email and profile again.
+	 */
+	private UserSummary summaryOf(User user, UserSummary current) {
+		String id = DbRefUtil.idOf(user);
+		if(id == null) {
+			return null;
+		}
+		if(user instanceof LazyLoadingProxy && current != null && id.equals(current.getId())) {
+			return current;
+		}
+		return new UserSummary(user);
+	}
+
+	/* the guard, the owner and every column of the STATUS_CHANGED events' list items */
+	private Map<String, Ticket> findForBulkChange(Collection<String> ids) {
+		Query query = new Query(Criteria.where("id").in(ids));
+		query.fields().include("status").include("version").include("user").include("number").include("title")
+				.include("priority").include("date").include("assignedUserSummary");
+		Map<String, Ticket> tickets = new LinkedHashMap<>();
+		for (Ticket ticket : this.mongoTemplate.find(query, Ticket.class)) {
+			tickets.put(ticket.getId(), ticket);
+		}
+		return tickets;
+	}
+
+	private void publish(TicketEvent.Type type, Ticket ticket, StatusEnum previous) {
+		TicketEvent event = new TicketEvent(type, TicketListItem.of(ticket), previous, DbRefUtil.idOf(ticket.getUser()));
+		this.eventPublisher.publishEvent(event);
+	}
+
+	private Ticket findStatusAndImage(String id) {
+		Query query = new Query(Criteria.where("id").is(id));
+		query.fields().include("status").include("imageId");
+		return this.mongoTemplate.findOne(query, Ticket.class);
+	}
+
+	/*
+	 * Inline images are moved to GridFS before the ticket is written, so only the file id
+	 * is kept on the document.
+	 */
+	private String storeImage(Ticket ticket) {
+		if(ticket.getImage() == null) {
+			return null;
+		}
+		String imageId = this.attachmentService.storeDataUrl(ticket.getImage(), "ticket-image");
+		ticket.setImageId(imageId);
+		ticket.setImage(null);
+		return imageId;
+	}
+
 	
 
 }
@@ -0,0 +1,269 @@
+package com.asuprojects.helpdesk.api.service.impl;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Service;
+
+import com.asuprojects.helpdesk.api.dto.TicketSuggestion;
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.event.DomainChangeEvent;
+import com.asuprojects.helpdesk.api.repository.DbRefUtil;
+import com.asuprojects.helpdesk.api.service.TicketTypeaheadService;
+import com.mongodb.DBRef;
+
+@Service
+@ConditionalOnProperty(name = "ticket.typeahead.enabled", havingValue = "true")
+public class TicketTypeaheadServiceImpl implements TicketTypeaheadService {
+
+	private static final int GRAM_SIZE = 3;
+
+	private final Log logger = LogFactory.getLog(this.getClass());
+
+	private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+
+	/* one- and two-character word prefixes, for terms too short to have a gram */
+	private final Map<String, Set<String>> prefixes = new ConcurrentHashMap<>();
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@PostConstruct
+	public void load() {
+		Query query = new Query();
+		query.fields().include("number").include("title").include("user");
+		try (CloseableIterator<Ticket> tickets = mongoTemplate.stream(query, Ticket.class)) {
+			tickets.forEachRemaining(this::index);
+		}
+		logger.info("Typeahead index loaded with " + entries.size() + " tickets and " + postings.size() + " grams");
+	}
+
+	/*
+	 * Titles written by other nodes, as seen on the change stream. Inserts and replaces carry
+	 * the full document, which is only indexed when it differs from the entry kept here.
+	 */
+	@EventListener
+	public void onDomainChange(DomainChangeEvent event) {
+		if (event.getEntity() != DomainChangeEvent.Entity.TICKET) {
+			return;
+		}
+		switch (event.getOperation()) {
+		case RESYNC:
+			synchronized (this) {
+				entries.clear();
+				postings.clear();
+				prefixes.clear();
+				load();
+			}
+			break;
+		case DELETE:
+			remove(event.getId());
+			break;
+		case INSERT:
+		case REPLACE:
+			if (event.getDocument() != null) {
+				index(event.getId(), event.getDocument());
+				break;
+			}
+			/* falls through */
+		default:
+			if (event.getOperation() == DomainChangeEvent.Operation.UPDATE && !event.touches("title")) {
+				return;
+			}
+			Query query = new Query(Criteria.where("id").is(event.getId()));
+			query.fields().include("number").include("title").include("user");
+			Ticket ticket = mongoTemplate.findOne(query, Ticket.class);
+			if (ticket == null) {
+				remove(event.getId());
+			} else {
+				index(ticket);
+			}
+		}
+	}
+
+	private void index(String id, Document document) {
+		Ticket ticket = new Ticket();
+		ticket.setId(id);
+		ticket.setTitle(document.getString("title"));
+		Object number = document.get("number");
+		ticket.setNumber(number instanceof Number ? ((Number) number).intValue() : null);
+		Object owner = document.get("user");
+		if (owner instanceof DBRef) {
+			User user = new User();
+			user.setId(((DBRef) owner).getId().toString());
+			ticket.setUser(user);
+		}
+		Entry current = entries.get(id);
+		if (current != null && Objects.equals(current.title, ticket.getTitle())
+				&& Objects.equals(current.number, ticket.getNumber())
+				&& Objects.equals(current.userId, DbRefUtil.idOf(ticket.getUser()))) {
+			return;
+		}
+		index(ticket);
+	}
+
+	@Override
+	public synchronized void index(Ticket ticket) {
+		if (ticket.getId() == null) {
+			return;
+		}
+		remove(ticket.getId());
+		if (ticket.getTitle() == null) {
+			return;
+		}
+		Entry entry = new Entry(ticket.getId(), ticket.getNumber(), ticket.getTitle(), DbRefUtil.idOf(ticket.getUser()));
+		entries.put(entry.id, entry);
+		post(postings, grams(entry.normalized), entry.id);
+		post(prefixes, prefixes(entry.normalized), entry.id);
+	}
+
+	@Override
+	public synchronized void remove(String ticketId) {
+		Entry entry = entries.remove(ticketId);
+		if (entry == null) {
+			return;
+		}
+		unpost(postings, grams(entry.normalized), ticketId);
+		unpost(prefixes, prefixes(entry.normalized), ticketId);
+	}
+
+	private static void post(Map<String, Set<String>> index, Set<String> keys, String ticketId) {
+		for (String key : keys) {
+			index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(ticketId);
+		}
+	}
+
+	private static void unpost(Map<String, Set<String>> index, Set<String> keys, String ticketId) {
+		for (String key : keys) {
+			Set<String> ids = index.get(key);
+			if (ids != null) {
+				ids.remove(ticketId);
+				if (ids.isEmpty()) {
+					index.remove(key);
+				}
+			}
+		}
+	}
+
+	@Override
+	public List<TicketSuggestion> suggest(String term, String userId, int limit) {
+		String normalized = normalize(term);
+		if (normalized.isEmpty() || limit <= 0) {
+			return Collections.emptyList();
+		}
+		List<Entry> matches = new ArrayList<>();
+		for (Entry entry : candidates(normalized)) {
+			if (entry.normalized.contains(normalized) && (userId == null || userId.equals(entry.userId))) {
+				matches.add(entry);
+			}
+		}
+		matches.sort(Comparator.comparing((Entry entry) -> !entry.normalized.startsWith(normalized))
+				.thenComparing(entry -> entry.number == null ? 0 : -entry.number));
+		List<TicketSuggestion> suggestions = new ArrayList<>();
+		for (Entry entry : matches.subList(0, Math.min(limit, matches.size()))) {
+			suggestions.add(new TicketSuggestion(entry.id, entry.number, entry.title));
+		}
+		return suggestions;
+	}
+
+	/*
+	 * Terms shorter than a gram match the start of a title word through the prefix map;
+	 * longer ones start from the rarest of their grams.
+	 */
+	private Iterable<Entry> candidates(String normalized) {
+		if (normalized.length() < GRAM_SIZE) {
+			Set<String> ids = prefixes.get(normalized);
+			return ids == null ? Collections.<Entry>emptyList() : entriesOf(ids);
+		}
+		Set<String> smallest = null;
+		for (String gram : grams(normalized)) {
+			Set<String> ids = postings.get(gram);
+			if (ids == null) {
+				return Collections.emptyList();
+			}
+			if (smallest == null || ids.size() < smallest.size()) {
+				smallest = ids;
+			}
+		}
+		return entriesOf(smallest);
+	}
+
+	private List<Entry> entriesOf(Set<String> ids) {
+		List<Entry> candidates = new ArrayList<>();
+		for (String id : ids) {
+			Entry entry = entries.get(id);
+			if (entry != null) {
+				candidates.add(entry);
+			}
+		}
+		return candidates;
+	}
+
+	private static Set<String> grams(String normalized) {
+		Set<String> grams = new LinkedHashSet<>();
+		for (int i = 0; i + GRAM_SIZE <= normalized.length(); i++) {
+			grams.add(normalized.substring(i, i + GRAM_SIZE));
+		}
+		return grams;
+	}
+
+	private static Set<String> prefixes(String normalized) {
+		Set<String> prefixes = new LinkedHashSet<>();
+		for (String word : normalized.split("\\s+")) {
+			for (int length = 1; length < GRAM_SIZE && length <= word.length(); length++) {
+				prefixes.add(word.substring(0, length));
+			}
+		}
+		return prefixes;
+	}
+
+	private static String normalize(String text) {
+		if (text == null) {
+			return "";
+		}
+		String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+		return decomposed.replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT).trim();
+	}
+
+	private static class Entry {
+
+		private final String id;
+		private final Integer number;
+		private final String title;
+		private final String userId;
+		private final String normalized;
+
+		Entry(String id, Integer number, String title, String userId) {
+			this.id = id;
+			this.number = number;
+			this.title = title;
+			this.userId = userId;
+			this.normalized = normalize(title);
+		}
+	}
+
+}
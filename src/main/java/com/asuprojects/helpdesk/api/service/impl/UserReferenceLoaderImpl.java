@@ -0,0 +1,75 @@
+package com.asuprojects.helpdesk.api.service.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.convert.LazyLoadingProxy;
+import org.springframework.stereotype.Service;
+
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.entity.UserSummary;
+import com.asuprojects.helpdesk.api.repository.DbRefUtil;
+import com.asuprojects.helpdesk.api.repository.UserRepository;
+import com.asuprojects.helpdesk.api.service.UserReferenceLoader;
+
+@Service
+public class UserReferenceLoaderImpl implements UserReferenceLoader {
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Override
+	public void resolve(Collection<Ticket> tickets) {
+		Set<String> missing = new HashSet<>();
+		for (Ticket ticket : tickets) {
+			if (ticket.getUserSummary() == null) {
+				addId(missing, ticket.getUser());
+			}
+			if (ticket.getAssignedUserSummary() == null) {
+				addId(missing, ticket.getAssignedUser());
+			}
+		}
+		Map<String, User> users = findUsers(missing);
+		for (Ticket ticket : tickets) {
+			ticket.setUser(resolve(ticket.getUser(), ticket.getUserSummary(), users));
+			ticket.setAssignedUser(resolve(ticket.getAssignedUser(), ticket.getAssignedUserSummary(), users));
+		}
+	}
+
+	@Override
+	public Map<String, User> findUsers(Collection<String> ids) {
+		if (ids.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		Map<String, User> users = new HashMap<>();
+		for (User user : userRepository.findAllById(ids)) {
+			user.setPassword(null);
+			users.put(user.getId(), user);
+		}
+		return users;
+	}
+
+	private User resolve(User reference, UserSummary summary, Map<String, User> users) {
+		if (summary != null) {
+			return summary.toUser();
+		}
+		if (!(reference instanceof LazyLoadingProxy)) {
+			return reference;
+		}
+		return users.get(DbRefUtil.idOf(reference));
+	}
+
+	private void addId(Set<String> ids, User reference) {
+		String id = DbRefUtil.idOf(reference);
+		if (reference instanceof LazyLoadingProxy && id != null) {
+			ids.add(id);
+		}
+	}
+
+}
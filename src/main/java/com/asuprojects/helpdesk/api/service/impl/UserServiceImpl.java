@@ -1,13 +1,25 @@
 package com.asuprojects.helpdesk.api.service.impl;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
+import com.asuprojects.helpdesk.api.dto.CursorSlice;
+import com.asuprojects.helpdesk.api.dto.KeysetCursor;
+import com.asuprojects.helpdesk.api.entity.Ticket;
 import com.asuprojects.helpdesk.api.entity.User;
 import com.asuprojects.helpdesk.api.repository.UserRepository;
 import com.asuprojects.helpdesk.api.service.UserService;
@@ -18,6 +30,9 @@ public class UserServiceImpl implements UserService{
 	@Autowired
 	private UserRepository userRepository;
 	
+	@Autowired
+	private MongoTemplate mongoTemplate;
+	
 	@Override
 	public User findByEmail(String email) {
 		return userRepository.findByEmail(email);
@@ -25,7 +40,20 @@ public class UserServiceImpl implements UserService{
 
 	@Override
 	public User createOrUpdate(User user) {
-		return userRepository.save(user);
+		boolean existing = user.getId() != null;
+		User userPersisted = userRepository.save(user);
+		if(existing) {
+			updateTicketSummaries("userSummary", userPersisted);
+			updateTicketSummaries("assignedUserSummary", userPersisted);
+		}
+		return userPersisted;
+	}
+
+	/* only replaces the hash that was verified, so a password changed meanwhile is kept */
+	@Override
+	public boolean updatePassword(String id, String currentPassword, String password) {
+		Query query = new Query(Criteria.where("id").is(id).and("password").is(currentPassword));
+		return mongoTemplate.updateFirst(query, Update.update("password", password), User.class).getModifiedCount() > 0;
 	}
 
 	@Override
@@ -45,4 +73,27 @@ public class UserServiceImpl implements UserService{
 		return userRepository.findAll(pages);
 	}
 
+	private void updateTicketSummaries(String field, User user) {
+		Query query = new Query(Criteria.where(field + ".id").is(user.getId()));
+		Update update = new Update().set(field + ".email", user.getEmail()).set(field + ".profile", user.getProfile());
+		mongoTemplate.updateMulti(query, update, Ticket.class);
+	}
+
+	@Override
+	public CursorSlice<User> findAll(String cursor, int count, boolean total) {
+		Query query = new Query();
+		if(StringUtils.hasText(cursor)) {
+			query.addCriteria(Criteria.where("id").gt(new ObjectId(KeysetCursor.decode(cursor).getId())));
+		}
+		query.with(Sort.by(Direction.ASC, "id")).limit(count + 1);
+		List<User> users = mongoTemplate.find(query, User.class);
+		String nextCursor = null;
+		if(users.size() > count) {
+			users = users.subList(0, count);
+			nextCursor = new KeysetCursor(null, users.get(count - 1).getId()).encode();
+		}
+		Long amount = total ? userRepository.count() : null;
+		return new CursorSlice<User>(users, PageRequest.of(0, count), nextCursor, amount);
+	}
+
 }
@@ -0,0 +1,370 @@
+package com.asuprojects.helpdesk.api.service.impl;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.bson.Document;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import com.asuprojects.helpdesk.api.entity.ChangeStatus;
+import com.asuprojects.helpdesk.api.service.ChangeStatusWriter;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoClient;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/*
+ * History rows are converted on the request thread, appended to a local spill segment and
+ * queued; a single writer thread inserts them with insertMany once a batch is full or the
+ * flush interval has passed. A segment is deleted once every row in it is stored, so after
+ * a crash the remaining segments are replayed at startup. Rows keep the id given on entry
+ * and duplicate key errors are ignored, which makes replays idempotent. When the queue stays
+ * full for longer than the offer timeout the row is written on the request thread instead;
+ * if that insert fails too, the row stays in its segment, which is kept for the next start.
+ */
+@Service
+@ConditionalOnProperty(name = "audit.write-behind.enabled", havingValue = "true")
+public class WriteBehindChangeStatusWriter implements ChangeStatusWriter {
+
+	private static final int DUPLICATE_KEY = 11000;
+
+	private static final String SEGMENT_SUFFIX = ".jsonl";
+
+	private final Log logger = LogFactory.getLog(this.getClass());
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${audit.write-behind.capacity}")
+	private int capacity;
+
+	@Value("${audit.write-behind.batch-size}")
+	private int batchSize;
+
+	@Value("${audit.write-behind.flush-interval}")
+	private long flushInterval;
+
+	@Value("${audit.write-behind.offer-timeout}")
+	private long offerTimeout;
+
+	@Value("${audit.write-behind.spill-dir}")
+	private File spillDir;
+
+	@Value("${audit.write-behind.segment-size}")
+	private int segmentSize;
+
+	private final DocumentCodec codec = new DocumentCodec(MongoClient.getDefaultCodecRegistry());
+
+	private final AtomicLong segmentSequence = new AtomicLong();
+
+	private BlockingQueue<Entry> queue;
+
+	private Segment current;
+
+	private Thread writer;
+
+	private volatile boolean running;
+
+	private Timer flushTimer;
+
+	private Counter written;
+
+	private Counter synchronousWrites;
+
+	@PostConstruct
+	public void init() throws IOException {
+		if (!spillDir.isDirectory() && !spillDir.mkdirs()) {
+			throw new IOException("Cannot create spill directory " + spillDir);
+		}
+		queue = new ArrayBlockingQueue<>(capacity);
+		Gauge.builder("audit.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+		flushTimer = Timer.builder("audit.flush.latency").register(meterRegistry);
+		written = meterRegistry.counter("audit.records.written");
+		synchronousWrites = meterRegistry.counter("audit.records.synchronous");
+		replaySpilledSegments();
+		running = true;
+		writer = new Thread(this::run, "change-status-writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		running = false;
+		writer.join(TimeUnit.SECONDS.toMillis(30));
+		synchronized (this) {
+			if (current != null) {
+				current.close();
+			}
+		}
+	}
+
+	@Override
+	public ChangeStatus write(ChangeStatus changeStatus) {
+		if (changeStatus.getId() == null) {
+			changeStatus.setId(new ObjectId().toHexString());
+		}
+		Document document = new Document();
+		mongoTemplate.getConverter().write(changeStatus, document);
+		Entry entry = append(document);
+		boolean queued;
+		try {
+			queued = queue.offer(entry, offerTimeout, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			queued = false;
+		}
+		if (!queued) {
+			synchronousWrites.increment();
+			try {
+				insert(Arrays.asList(entry));
+			} catch (RuntimeException e) {
+				logger.warn("History row left in " + entry.segment.file.getName() + " for the next start: " + e.getMessage());
+				retained(entry);
+			}
+		}
+		return changeStatus;
+	}
+
+	@Override
+	public void writeAll(List<ChangeStatus> changes) {
+		for (ChangeStatus changeStatus : changes) {
+			write(changeStatus);
+		}
+	}
+
+	private synchronized Entry append(Document document) {
+		if (current == null || current.count >= segmentSize) {
+			if (current != null) {
+				current.close();
+				if (current.pending == 0 && !current.retained) {
+					current.file.delete();
+				}
+			}
+			current = new Segment(new File(spillDir,
+					"audit-" + System.currentTimeMillis() + "-" + segmentSequence.incrementAndGet() + SEGMENT_SUFFIX));
+		}
+		current.append(document.toJson(codec));
+		return new Entry(document, current);
+	}
+
+	private synchronized void stored(List<Entry> entries) {
+		for (Entry entry : entries) {
+			release(entry.segment);
+		}
+	}
+
+	private synchronized void retained(Entry entry) {
+		entry.segment.retained = true;
+		release(entry.segment);
+	}
+
+	private void release(Segment segment) {
+		segment.pending--;
+		if (segment.pending == 0 && (segment != current || segment.count >= segmentSize)) {
+			segment.close();
+			if (!segment.retained) {
+				segment.file.delete();
+			}
+			if (segment == current) {
+				current = null;
+			}
+		}
+	}
+
+	private void run() {
+		List<Entry> batch = new ArrayList<>(batchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				Entry first = queue.poll(flushInterval, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushInterval);
+				while (batch.size() < batchSize) {
+					queue.drainTo(batch, batchSize - batch.size());
+					long remaining = deadline - System.nanoTime();
+					if (batch.size() >= batchSize || remaining <= 0) {
+						break;
+					}
+					Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+				insertWithRetry(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			batch.clear();
+		}
+	}
+
+	private void insertWithRetry(List<Entry> batch) throws InterruptedException {
+		long backoff = flushInterval;
+		while (true) {
+			try {
+				insert(batch);
+				return;
+			} catch (RuntimeException e) {
+				if (!running) {
+					logger.warn("History batch left in spill segments for the next start: " + e.getMessage());
+					return;
+				}
+				logger.warn("History batch insert failed, retrying in " + backoff + " ms: " + e.getMessage());
+				Thread.sleep(backoff);
+				backoff = Math.min(backoff * 2, TimeUnit.SECONDS.toMillis(30));
+			}
+		}
+	}
+
+	private void insert(List<Entry> entries) {
+		List<Document> documents = new ArrayList<>(entries.size());
+		for (Entry entry : entries) {
+			documents.add(entry.document);
+		}
+		flushTimer.record(() -> insertIgnoringDuplicates(documents));
+		written.increment(entries.size());
+		stored(entries);
+	}
+
+	private void insertIgnoringDuplicates(List<Document> documents) {
+		try {
+			mongoTemplate.getCollection(mongoTemplate.getCollectionName(ChangeStatus.class))
+					.insertMany(documents, new InsertManyOptions().ordered(false));
+		} catch (MongoBulkWriteException e) {
+			for (BulkWriteError error : e.getWriteErrors()) {
+				if (error.getCode() != DUPLICATE_KEY) {
+					throw e;
+				}
+			}
+		}
+	}
+
+	private void replaySpilledSegments() throws IOException {
+		File[] segments = spillDir.listFiles((dir, name) -> name.endsWith(SEGMENT_SUFFIX));
+		if (segments == null) {
+			return;
+		}
+		Arrays.sort(segments);
+		for (File segment : segments) {
+			int replayed = 0;
+			List<Document> documents = new ArrayList<>();
+			try (BufferedReader reader = new BufferedReader(
+					new InputStreamReader(new FileInputStream(segment), StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					if (line.isEmpty()) {
+						continue;
+					}
+					documents.add(Document.parse(line, codec));
+					if (documents.size() == batchSize) {
+						insertIgnoringDuplicates(documents);
+						replayed += documents.size();
+						documents.clear();
+					}
+				}
+			}
+			if (!documents.isEmpty()) {
+				insertIgnoringDuplicates(documents);
+				replayed += documents.size();
+			}
+			segment.delete();
+			logger.info("Replayed " + replayed + " history rows from " + segment.getName());
+		}
+	}
+
+	private static class Entry {
+
+		private final Document document;
+
+		private final Segment segment;
+
+		Entry(Document document, Segment segment) {
+			this.document = document;
+			this.segment = segment;
+			segment.pending++;
+		}
+	}
+
+	private static class Segment {
+
+		private final File file;
+
+		private Writer out;
+
+		private int count;
+
+		private int pending;
+
+		private boolean retained;
+
+		Segment(File file) {
+			this.file = file;
+		}
+
+		void append(String line) {
+			try {
+				if (out == null) {
+					out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+				}
+				out.write(line);
+				out.write('\n');
+				out.flush();
+				count++;
+			} catch (IOException e) {
+				throw new IllegalStateException("Cannot write history spill segment " + file, e);
+			}
+		}
+
+		void close() {
+			if (out == null) {
+				return;
+			}
+			try {
+				out.close();
+			} catch (IOException e) {
+				/* nothing left to flush */
+			}
+			out = null;
+		}
+	}
+
+}
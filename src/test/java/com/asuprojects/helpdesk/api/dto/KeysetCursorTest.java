@@ -0,0 +1,44 @@
+package com.asuprojects.helpdesk.api.dto;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Date;
+
+import org.bson.types.ObjectId;
+import org.junit.Test;
+
+public class KeysetCursorTest {
+
+	@Test
+	public void roundTripKeepsDateAndId() {
+		Date date = new Date(1534000000123L);
+		String id = new ObjectId().toHexString();
+
+		KeysetCursor cursor = KeysetCursor.decode(new KeysetCursor(date, id).encode());
+
+		assertEquals(date, cursor.getDate());
+		assertEquals(id, cursor.getId());
+	}
+
+	@Test
+	public void roundTripWithoutDate() {
+		String id = new ObjectId().toHexString();
+
+		KeysetCursor cursor = KeysetCursor.decode(new KeysetCursor(null, id).encode());
+
+		assertNull(cursor.getDate());
+		assertEquals(id, cursor.getId());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsGarbage() {
+		KeysetCursor.decode("not a cursor");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsIdsThatAreNotObjectIds() {
+		KeysetCursor.decode(new KeysetCursor(new Date(), "42").encode());
+	}
+
+}
@@ -0,0 +1,124 @@
+package com.asuprojects.helpdesk.api.security.jwt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.enums.ProfileEnum;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+public class JwtTokenUtilTest {
+
+	private static final String SECRET = "test-secret";
+
+	private JwtTokenUtil jwtTokenUtil;
+
+	@Before
+	public void setup() {
+		jwtTokenUtil = tokenUtil(60L);
+	}
+
+	@Test
+	public void accessTokenCarriesTheUserAndItsRefreshToken() {
+		Claims claims = jwtTokenUtil.getValidClaims(jwtTokenUtil.generateAccessToken(technician(), "refresh-id"));
+
+		assertTrue(jwtTokenUtil.isAccessToken(claims));
+		assertFalse(jwtTokenUtil.isRefreshToken(claims));
+		assertEquals("refresh-id", jwtTokenUtil.getRefreshTokenId(claims));
+		assertEquals("u1", jwtTokenUtil.getUserId(claims));
+		assertNotNull(claims.getId());
+		assertLifetime(60, claims);
+		User user = jwtTokenUtil.getUserFromClaims(claims);
+		assertEquals("u1", user.getId());
+		assertEquals("technician@helpdesk.com", user.getEmail());
+		assertEquals(ProfileEnum.ROLE_TECHNICIAN, user.getProfile());
+		assertNull(user.getPassword());
+	}
+
+	@Test
+	public void refreshTokenLivesLongerAndNamesNoRefreshToken() {
+		Claims claims = jwtTokenUtil.getValidClaims(jwtTokenUtil.generateRefreshToken(technician()));
+
+		assertTrue(jwtTokenUtil.isRefreshToken(claims));
+		assertFalse(jwtTokenUtil.isAccessToken(claims));
+		assertNull(jwtTokenUtil.getRefreshTokenId(claims));
+		assertLifetime(600, claims);
+	}
+
+	@Test
+	public void tokensWithoutTheNewClaimsAreAccessTokensWithoutAUser() {
+		Date now = new Date();
+		String legacy = Jwts.builder().setSubject("technician@helpdesk.com").claim("created", now)
+				.setExpiration(new Date(now.getTime() + 60000)).signWith(SignatureAlgorithm.HS512, SECRET).compact();
+
+		Claims claims = jwtTokenUtil.getValidClaims(legacy);
+
+		assertTrue(jwtTokenUtil.isAccessToken(claims));
+		assertNull(jwtTokenUtil.getUserFromClaims(claims));
+	}
+
+	@Test
+	public void invalidTokensHaveNoClaims() {
+		String token = jwtTokenUtil.generateAccessToken(technician(), null);
+
+		assertNull(jwtTokenUtil.getValidClaims(null));
+		assertNull(jwtTokenUtil.getValidClaims(token.substring(0, token.length() - 2)));
+		assertNull(tokenUtil(60L, "other-secret").getValidClaims(token));
+	}
+
+	@Test
+	public void verifiedClaimsAreCachedUntilTheTokenExpires() throws InterruptedException {
+		/* exp is kept in whole seconds, so a two second token has at least one left */
+		JwtTokenUtil shortLived = tokenUtil(2L);
+		String token = shortLived.generateAccessToken(technician(), null);
+
+		Claims claims = shortLived.getValidClaims(token);
+		assertSame(claims, shortLived.getValidClaims(token));
+
+		Thread.sleep(2100);
+		assertNull(shortLived.getValidClaims(token));
+	}
+
+	private static void assertLifetime(long seconds, Claims claims) {
+		long lifetime = claims.getExpiration().getTime() - claims.getIssuedAt().getTime();
+		assertEquals(TimeUnit.SECONDS.toMillis(seconds), lifetime, 1000);
+	}
+
+	private static JwtTokenUtil tokenUtil(long expiration) {
+		return tokenUtil(expiration, SECRET);
+	}
+
+	private static JwtTokenUtil tokenUtil(long expiration, String secret) {
+		JwtTokenUtil jwtTokenUtil = new JwtTokenUtil();
+		ReflectionTestUtils.setField(jwtTokenUtil, "secret", secret);
+		ReflectionTestUtils.setField(jwtTokenUtil, "expiration", expiration);
+		ReflectionTestUtils.setField(jwtTokenUtil, "refreshExpiration", 600L);
+		ReflectionTestUtils.setField(jwtTokenUtil, "claimsCacheSize", 100L);
+		jwtTokenUtil.init();
+		return jwtTokenUtil;
+	}
+
+	private static User technician() {
+		User user = new User();
+		user.setId("u1");
+		user.setEmail("technician@helpdesk.com");
+		user.setPassword("hash");
+		user.setProfile(ProfileEnum.ROLE_TECHNICIAN);
+		return user;
+	}
+
+}
@@ -0,0 +1,126 @@
+package com.asuprojects.helpdesk.api.security.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.service.UserService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PasswordVerifierTest {
+
+	private static final String DUMMY_HASH = "$2a$10$dummy";
+
+	private static final String WEAK_HASH = "$2a$04$weak";
+
+	private static final String STRONG_HASH = "$2a$10$strong";
+
+	@Mock
+	private PasswordEncoder passwordEncoder;
+
+	@Mock
+	private UserService userService;
+
+	@InjectMocks
+	private PasswordVerifier passwordVerifier;
+
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Before
+	public void setup() {
+		ReflectionTestUtils.setField(passwordVerifier, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(passwordVerifier, "strength", 10);
+		ReflectionTestUtils.setField(passwordVerifier, "threads", 1);
+		ReflectionTestUtils.setField(passwordVerifier, "queueSize", 1);
+		when(passwordEncoder.encode("dummy-password")).thenReturn(DUMMY_HASH);
+		passwordVerifier.init();
+	}
+
+	@After
+	public void shutdown() {
+		passwordVerifier.shutdown();
+	}
+
+	@Test
+	public void hashWithAnotherCostIsReplacedAfterAMatch() throws Exception {
+		User user = user(WEAK_HASH);
+		when(passwordEncoder.matches("secret", WEAK_HASH)).thenReturn(true);
+		when(passwordEncoder.encode("secret")).thenReturn(STRONG_HASH);
+		when(userService.updatePassword("u1", WEAK_HASH, STRONG_HASH)).thenReturn(true);
+
+		assertSame(user, passwordVerifier.verify(user, "secret").get(5, TimeUnit.SECONDS));
+		assertEquals(STRONG_HASH, user.getPassword());
+	}
+
+	@Test
+	public void hashWithTheConfiguredCostIsKept() throws Exception {
+		User user = user(STRONG_HASH);
+		when(passwordEncoder.matches("secret", STRONG_HASH)).thenReturn(true);
+
+		assertSame(user, passwordVerifier.verify(user, "secret").get(5, TimeUnit.SECONDS));
+		verify(userService, never()).updatePassword(anyString(), anyString(), anyString());
+	}
+
+	@Test
+	public void unknownEmailIsCheckedAgainstTheDummyHash() throws Exception {
+		assertNull(passwordVerifier.verify(null, "secret").get(5, TimeUnit.SECONDS));
+		verify(passwordEncoder).matches("secret", DUMMY_HASH);
+	}
+
+	@Test
+	public void loginsBeyondThePoolAndQueueAreShed() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(passwordEncoder.matches(eq("secret"), anyString())).thenAnswer(invocation -> {
+			started.countDown();
+			return release.await(5, TimeUnit.SECONDS);
+		});
+
+		CompletableFuture<User> running = passwordVerifier.verify(user(STRONG_HASH), "secret");
+		started.await(5, TimeUnit.SECONDS);
+		CompletableFuture<User> queued = passwordVerifier.verify(user(STRONG_HASH), "secret");
+		try {
+			passwordVerifier.verify(user(STRONG_HASH), "secret");
+			fail("Login should have been shed");
+		} catch (RejectedExecutionException e) {
+			assertEquals(1.0, meterRegistry.counter("security.login.rejected").count(), 0.0);
+		}
+		release.countDown();
+		running.get(5, TimeUnit.SECONDS);
+		queued.get(5, TimeUnit.SECONDS);
+	}
+
+	private static User user(String hash) {
+		User user = new User();
+		user.setId("u1");
+		user.setEmail("user@helpdesk.com");
+		user.setPassword(hash);
+		return user;
+	}
+
+}
@@ -0,0 +1,112 @@
+package com.asuprojects.helpdesk.api.security.service;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.asuprojects.helpdesk.api.entity.RevokedToken;
+import com.asuprojects.helpdesk.api.security.jwt.JwtTokenUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TokenRevocationServiceTest {
+
+	@Mock
+	private MongoTemplate mongoTemplate;
+
+	@InjectMocks
+	private TokenRevocationService tokenRevocationService;
+
+	@Before
+	public void setup() {
+		ReflectionTestUtils.setField(tokenRevocationService, "jwtTokenUtil", new JwtTokenUtil());
+		ReflectionTestUtils.setField(tokenRevocationService, "refreshExpiration", 600L);
+	}
+
+	@Test
+	public void revokedTokenIdIsRejected() {
+		Claims revoked = claims("u1", null, new Date());
+		tokenRevocationService.revoke(revoked);
+
+		assertTrue(tokenRevocationService.isRevoked(revoked));
+		assertFalse(tokenRevocationService.isRevoked(claims("u1", null, new Date())));
+	}
+
+	@Test
+	public void accessTokenIsRejectedWithItsRefreshToken() {
+		Claims refresh = claims("u1", null, new Date());
+		tokenRevocationService.revoke(refresh);
+
+		assertTrue(tokenRevocationService.isRevoked(claims("u1", refresh.getId(), new Date())));
+		assertFalse(tokenRevocationService.isRevoked(claims("u1", UUID.randomUUID().toString(), new Date())));
+	}
+
+	@Test
+	public void loggingOutWithAnAccessTokenRevokesItsRefreshToken() {
+		Claims refresh = claims("u1", null, new Date());
+		tokenRevocationService.revoke(claims("u1", refresh.getId(), new Date()));
+
+		assertTrue(tokenRevocationService.isRevoked(refresh));
+	}
+
+	@Test
+	public void userCutoffRejectsTokensIssuedBeforeIt() {
+		long now = System.currentTimeMillis();
+		tokenRevocationService.revokeAll("u1");
+
+		assertTrue(tokenRevocationService.isRevoked(claims("u1", null, new Date(now - 60000))));
+		assertTrue(tokenRevocationService.isRevoked(claims("u1", null, null)));
+		assertFalse(tokenRevocationService.isRevoked(claims("u1", null, new Date(now + 60000))));
+		assertFalse(tokenRevocationService.isRevoked(claims("u2", null, new Date(now - 60000))));
+	}
+
+	@Test
+	public void syncPicksUpEntriesFromOtherNodesAndDropsExpiredOnes() {
+		long now = System.currentTimeMillis();
+		Claims active = claims("u1", null, new Date());
+		Claims expired = claims("u1", null, new Date());
+		when(mongoTemplate.find(any(Query.class), eq(RevokedToken.class))).thenReturn(Arrays.asList(
+				new RevokedToken(active.getId(), "u1", null, new Date(now + 60000)),
+				new RevokedToken(expired.getId(), "u1", null, new Date(now - 1000)),
+				new RevokedToken("user:u2", "u2", new Date(now), new Date(now + 60000))));
+
+		tokenRevocationService.sync();
+
+		assertTrue(tokenRevocationService.isRevoked(active));
+		assertFalse(tokenRevocationService.isRevoked(expired));
+		assertTrue(tokenRevocationService.isRevoked(claims("u2", null, new Date(now - 60000))));
+	}
+
+	private static Claims claims(String userId, String refreshId, Date created) {
+		Claims claims = Jwts.claims();
+		claims.setId(UUID.randomUUID().toString());
+		claims.setExpiration(new Date(System.currentTimeMillis() + 60000));
+		claims.put("uid", userId);
+		if (refreshId != null) {
+			claims.put("rid", refreshId);
+		}
+		if (created != null) {
+			claims.put("created", created);
+		}
+		return claims;
+	}
+
+}
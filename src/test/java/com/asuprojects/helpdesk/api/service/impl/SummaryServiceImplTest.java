@@ -0,0 +1,157 @@
+package com.asuprojects.helpdesk.api.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.Document;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.asuprojects.helpdesk.api.dto.Summary;
+import com.asuprojects.helpdesk.api.dto.TicketListItem;
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.enums.StatusEnum;
+import com.asuprojects.helpdesk.api.event.DomainChangeEvent;
+import com.asuprojects.helpdesk.api.event.DomainChangeEvent.Entity;
+import com.asuprojects.helpdesk.api.event.DomainChangeEvent.Operation;
+import com.asuprojects.helpdesk.api.event.TicketEvent;
+import com.asuprojects.helpdesk.api.repository.SummaryRepository;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SummaryServiceImplTest {
+
+	@Mock
+	private MongoTemplate mongoTemplate;
+
+	@Mock
+	private SummaryRepository summaryRepository;
+
+	@InjectMocks
+	private SummaryServiceImpl summaryService;
+
+	@Test
+	public void countersFollowCreateTransitionAndDelete() {
+		summaryService.onCreated(StatusEnum.New);
+		summaryService.onCreated(StatusEnum.New);
+		summaryService.onStatusChanged(StatusEnum.New, StatusEnum.Assigned);
+		summaryService.onStatusChanged(StatusEnum.Assigned, StatusEnum.Resolved);
+		summaryService.onCreated(StatusEnum.New);
+		summaryService.onDeleted(StatusEnum.New);
+
+		Summary summary = summaryService.getSummary();
+		assertEquals(Integer.valueOf(1), summary.getAmountNew());
+		assertEquals(Integer.valueOf(0), summary.getAmountAssigned());
+		assertEquals(Integer.valueOf(1), summary.getAmountResolved());
+		assertEquals(2, summaryService.getTotal());
+	}
+
+	@Test
+	public void unchangedOrMissingStatusLeavesCountersAlone() {
+		summaryService.onCreated(StatusEnum.Approved);
+		summaryService.onStatusChanged(StatusEnum.Approved, StatusEnum.Approved);
+		summaryService.onCreated(null);
+		summaryService.onDeleted(null);
+
+		assertEquals(Integer.valueOf(1), summaryService.getSummary().getAmountApproved());
+		assertEquals(1, summaryService.getTotal());
+	}
+
+	@Test
+	public void rebuildReplacesCountersWithStoredCounts() {
+		summaryService.onCreated(StatusEnum.New);
+		summaryService.onCreated(StatusEnum.Closed);
+		AggregationResults<Document> results = new AggregationResults<>(Arrays.asList(
+				new Document("_id", "New").append("count", 4),
+				new Document("_id", "Assigned").append("count", 2L)), new Document());
+		when(mongoTemplate.aggregate(any(Aggregation.class), eq(Ticket.class), eq(Document.class))).thenReturn(results);
+
+		summaryService.rebuild();
+
+		Summary summary = summaryService.getSummary();
+		assertEquals(Integer.valueOf(4), summary.getAmountNew());
+		assertEquals(Integer.valueOf(2), summary.getAmountAssigned());
+		assertEquals(Integer.valueOf(0), summary.getAmountClosed());
+		assertEquals(6, summaryService.getTotal());
+	}
+
+	@Test
+	public void rebuildKeepsIncrementsMadeWhileCounting() {
+		summaryService.onCreated(StatusEnum.New);
+		AggregationResults<Document> results = new AggregationResults<>(Arrays.asList(
+				new Document("_id", "New").append("count", 4)), new Document());
+		when(mongoTemplate.aggregate(any(Aggregation.class), eq(Ticket.class), eq(Document.class))).thenAnswer(invocation -> {
+			summaryService.onCreated(StatusEnum.New);
+			return results;
+		});
+
+		summaryService.rebuild();
+
+		assertEquals(Integer.valueOf(5), summaryService.getSummary().getAmountNew());
+	}
+
+	@Test
+	public void onlyOtherNodesStatusWritesScheduleARecount() {
+		AtomicBoolean pending = recountLater();
+
+		summaryService.onDomainChange(new DomainChangeEvent(Entity.TICKET, Operation.REPLACE, "1", null, new Document()));
+		summaryService.onDomainChange(new DomainChangeEvent(Entity.TICKET, Operation.UPDATE, "1",
+				Collections.singleton("title"), null));
+		assertFalse(pending.get());
+
+		summaryService.onDomainChange(new DomainChangeEvent(Entity.TICKET, Operation.UPDATE, "1",
+				Collections.singleton("status"), null));
+		assertTrue(pending.get());
+		summaryService.shutdown();
+	}
+
+	@Test
+	public void ownWritesAreSkippedOnTheChangeStream() {
+		AtomicBoolean pending = recountLater();
+		TicketListItem ticket = new TicketListItem();
+		ticket.setId("1");
+		ticket.setStatus(StatusEnum.Assigned);
+		summaryService.onTicketEvent(new TicketEvent(TicketEvent.Type.STATUS_CHANGED, ticket, StatusEnum.New, null));
+
+		summaryService.onDomainChange(new DomainChangeEvent(Entity.TICKET, Operation.UPDATE, "1",
+				Collections.singleton("status"), null));
+
+		assertFalse(pending.get());
+		summaryService.shutdown();
+	}
+
+	@Test
+	public void otherNodesInsertIsCountedWithoutARecount() {
+		AtomicBoolean pending = recountLater();
+
+		summaryService.onDomainChange(new DomainChangeEvent(Entity.TICKET, Operation.INSERT, "1", null,
+				new Document("_id", "1").append("status", "New")));
+
+		assertFalse(pending.get());
+		assertEquals(Integer.valueOf(1), summaryService.getSummary().getAmountNew());
+		summaryService.shutdown();
+	}
+
+	/* a rebuild that just ran holds the next recount back for the whole interval */
+	private AtomicBoolean recountLater() {
+		ReflectionTestUtils.setField(summaryService, "rebuildInterval", 60000L);
+		((AtomicLong) ReflectionTestUtils.getField(summaryService, "lastRebuild")).set(System.currentTimeMillis());
+		return (AtomicBoolean) ReflectionTestUtils.getField(summaryService, "rebuildPending");
+	}
+
+}
@@ -0,0 +1,46 @@
+package com.asuprojects.helpdesk.api.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.bson.Document;
+import org.junit.Test;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+public class TicketCriteriaTest {
+
+	@Test
+	public void titleIsMatchedLiterallyAndIgnoringCase() {
+		Pattern title = (Pattern) clauses(TicketCriteria.parameters("a.b(c*", null, null, null, null)).get(0).get("title");
+
+		assertTrue(title.matcher("Printer A.B(C* broken").find());
+		assertFalse(title.matcher("axb(cc").find());
+		assertTrue((title.flags() & Pattern.CASE_INSENSITIVE) != 0);
+	}
+
+	@Test
+	public void blankParametersAreLeftOut() {
+		assertTrue(TicketCriteria.parameters(" ", "", null, null, "").getCriteriaObject().isEmpty());
+	}
+
+	@Test
+	public void enumsAndReferencesAreMatchedByEquality() {
+		List<Document> clauses = clauses(TicketCriteria.parameters(null, "New", "High", "u1", "u2"));
+
+		assertEquals(4, clauses.size());
+		assertEquals("New", clauses.get(0).get("status"));
+		assertEquals("High", clauses.get(1).get("priority"));
+		assertEquals("u1", clauses.get(2).get("user.id"));
+		assertEquals("u2", clauses.get(3).get("assignedUser.id"));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Document> clauses(Criteria criteria) {
+		return (List<Document>) criteria.getCriteriaObject().get("$and");
+	}
+
+}
@@ -0,0 +1,138 @@
+package com.asuprojects.helpdesk.api.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.asuprojects.helpdesk.api.dto.TicketListItem;
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.enums.ProfileEnum;
+import com.asuprojects.helpdesk.api.enums.StatusEnum;
+import com.asuprojects.helpdesk.api.event.TicketEvent;
+
+public class TicketEventServiceImplTest {
+
+	private RecordingEmitter emitter = new RecordingEmitter();
+
+	private TicketEventServiceImpl ticketEventService;
+
+	private String node;
+
+	@Before
+	public void setup() {
+		ticketEventService = new TicketEventServiceImpl() {
+			@Override
+			SseEmitter createEmitter() {
+				return emitter;
+			}
+		};
+		ReflectionTestUtils.setField(ticketEventService, "bufferSize", 2);
+		ReflectionTestUtils.setField(ticketEventService, "replaySize", 3);
+		ReflectionTestUtils.setField(ticketEventService, "timeout", 60000L);
+		node = (String) ReflectionTestUtils.getField(ticketEventService, "node");
+	}
+
+	@After
+	public void shutdown() {
+		ticketEventService.shutdown();
+	}
+
+	@Test
+	public void resumeWithinTheReplayBufferSendsWhatWasMissed() throws InterruptedException {
+		publish(3);
+
+		ticketEventService.subscribe(technician(), node + ":1");
+
+		assertTrue(emitter.next().startsWith("id:" + node + ":2\nevent:status_changed\n"));
+		assertTrue(emitter.next().startsWith("id:" + node + ":3\nevent:status_changed\n"));
+		assertNull(emitter.sent.poll(100, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	public void idFromAnotherNodeIsReset() throws InterruptedException {
+		publish(1);
+
+		ticketEventService.subscribe(technician(), "0000ffff:1");
+
+		assertEquals(reset(1), emitter.next());
+	}
+
+	@Test
+	public void gapOutsideTheReplayBufferIsReset() throws InterruptedException {
+		publish(5);
+
+		ticketEventService.subscribe(technician(), node + ":1");
+
+		assertEquals(reset(5), emitter.next());
+	}
+
+	@Test
+	public void idAheadOfTheSequenceIsReset() throws InterruptedException {
+		publish(1);
+
+		ticketEventService.subscribe(technician(), node + ":7");
+
+		assertEquals(reset(1), emitter.next());
+	}
+
+	@Test
+	public void replayLargerThanTheSubscriberQueueIsReset() throws InterruptedException {
+		publish(3);
+
+		ticketEventService.subscribe(technician(), node + ":0");
+
+		assertEquals(reset(3), emitter.next());
+		assertNull(emitter.sent.poll(100, TimeUnit.MILLISECONDS));
+	}
+
+	private void publish(int amount) {
+		for (int i = 0; i < amount; i++) {
+			TicketListItem item = new TicketListItem();
+			item.setStatus(StatusEnum.Assigned);
+			ticketEventService.onTicketEvent(new TicketEvent(TicketEvent.Type.STATUS_CHANGED, item, StatusEnum.New, "u1"));
+		}
+	}
+
+	private String reset(long sequence) {
+		return "id:" + node + ":" + sequence + "\nevent:reset\ndata:\n\n";
+	}
+
+	private static User technician() {
+		User user = new User();
+		user.setId("u2");
+		user.setProfile(ProfileEnum.ROLE_TECHNICIAN);
+		return user;
+	}
+
+	/* keeps the text of each event; JSON payloads are written as a placeholder */
+	private static class RecordingEmitter extends SseEmitter {
+
+		private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			StringBuilder text = new StringBuilder();
+			for (DataWithMediaType part : builder.build()) {
+				text.append(part.getData() instanceof String ? part.getData() : "{}");
+			}
+			sent.add(text.toString());
+		}
+
+		private String next() throws InterruptedException {
+			return sent.poll(5, TimeUnit.SECONDS);
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.asuprojects.helpdesk.api.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.asuprojects.helpdesk.api.entity.Counter;
+import com.asuprojects.helpdesk.api.entity.Ticket;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TicketNumberServiceImplTest {
+
+	@Mock
+	private MongoTemplate mongoTemplate;
+
+	@InjectMocks
+	private TicketNumberServiceImpl ticketNumberService;
+
+	@Before
+	public void setup() {
+		ReflectionTestUtils.setField(ticketNumberService, "blockSize", 3);
+	}
+
+	@Test
+	public void numbersComeFromLeasedBlocks() {
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Counter.class)))
+				.thenReturn(new Counter(TicketNumberServiceImpl.TICKET_COUNTER, 3L),
+						new Counter(TicketNumberServiceImpl.TICKET_COUNTER, 9L));
+
+		assertEquals(Integer.valueOf(1), ticketNumberService.next());
+		assertEquals(Integer.valueOf(2), ticketNumberService.next());
+		assertEquals(Integer.valueOf(3), ticketNumberService.next());
+		/* another instance leased 4-6 in between */
+		assertEquals(Integer.valueOf(7), ticketNumberService.next());
+
+		verify(mongoTemplate, times(2)).findAndModify(any(Query.class), any(Update.class),
+				any(FindAndModifyOptions.class), eq(Counter.class));
+	}
+
+	@Test
+	public void duplicatesKeepTheFirstTicketAndRenumberTheRest() {
+		Document duplicate = new Document("_id", 42).append("count", 3).append("ids", Arrays.asList("a", "b", "c"));
+		when(mongoTemplate.aggregate(any(Aggregation.class), eq(Ticket.class), eq(Document.class)))
+				.thenReturn(new AggregationResults<>(Collections.singletonList(duplicate), new Document()));
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Counter.class)))
+				.thenReturn(new Counter(TicketNumberServiceImpl.TICKET_COUNTER, 3L));
+
+		assertEquals(2, ticketNumberService.renumberDuplicates());
+
+		ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate, times(2)).updateFirst(queries.capture(), updates.capture(), eq(Ticket.class));
+		List<Query> renumbered = queries.getAllValues();
+		assertEquals("b", renumbered.get(0).getQueryObject().get("_id"));
+		assertEquals("c", renumbered.get(1).getQueryObject().get("_id"));
+		assertEquals(new Document("number", 1), updates.getAllValues().get(0).getUpdateObject().get("$set"));
+		assertEquals(new Document("number", 2), updates.getAllValues().get(1).getUpdateObject().get("$set"));
+	}
+
+}
@@ -0,0 +1,324 @@
+package com.asuprojects.helpdesk.api.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.asuprojects.helpdesk.api.dto.BulkItemResult;
+import com.asuprojects.helpdesk.api.dto.CursorSlice;
+import com.asuprojects.helpdesk.api.dto.KeysetCursor;
+import com.asuprojects.helpdesk.api.dto.TicketListItem;
+import com.asuprojects.helpdesk.api.entity.ChangeStatus;
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.enums.ProfileEnum;
+import com.asuprojects.helpdesk.api.enums.StatusEnum;
+import com.asuprojects.helpdesk.api.event.TicketEvent;
+import com.asuprojects.helpdesk.api.repository.TicketRepository;
+import com.asuprojects.helpdesk.api.service.AttachmentService;
+import com.asuprojects.helpdesk.api.service.ChangeStatusWriter;
+import com.asuprojects.helpdesk.api.service.SummaryService;
+import com.asuprojects.helpdesk.api.service.UserReferenceLoader;
+import com.mongodb.bulk.BulkWriteResult;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TicketServiceImplTest {
+
+	@Mock
+	private MongoTemplate mongoTemplate;
+
+	@Mock
+	private TicketRepository ticketRepository;
+
+	@Mock
+	private SummaryService summaryService;
+
+	@Mock
+	private UserReferenceLoader userReferenceLoader;
+
+	@Mock
+	private ChangeStatusWriter changeStatusWriter;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private AttachmentService attachmentService;
+
+	@InjectMocks
+	private TicketServiceImpl ticketService;
+
+	@Test
+	public void fullPageEndsWithCursorOfItsLastTicket() {
+		List<TicketListItem> found = items(3);
+		when(ticketRepository.findListItems(any(Query.class))).thenReturn(found);
+
+		CursorSlice<TicketListItem> slice = ticketService.findByCursor(null, 2, null, null, null, null, null, false);
+
+		assertEquals(2, slice.getContent().size());
+		KeysetCursor next = KeysetCursor.decode(slice.getNextCursor());
+		assertEquals(found.get(1).getId(), next.getId());
+		assertEquals(found.get(1).getDate(), next.getDate());
+		assertNull(slice.getTotal());
+	}
+
+	@Test
+	public void lastPageHasNoCursor() {
+		when(ticketRepository.findListItems(any(Query.class))).thenReturn(items(2));
+		when(summaryService.getTotal()).thenReturn(2L);
+
+		CursorSlice<TicketListItem> slice = ticketService.findByCursor(null, 2, null, null, null, null, null, true);
+
+		assertEquals(2, slice.getContent().size());
+		assertNull(slice.getNextCursor());
+		assertEquals(Long.valueOf(2), slice.getTotal());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void cursorSelectsTicketsAfterItsPosition() {
+		Date date = new Date(1534000000000L);
+		ObjectId id = new ObjectId();
+		when(ticketRepository.findListItems(any(Query.class))).thenReturn(new ArrayList<>());
+
+		ticketService.findByCursor(new KeysetCursor(date, id.toHexString()).encode(), 10, null, null, null, null, null, false);
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(ticketRepository).findListItems(query.capture());
+		assertEquals(11, query.getValue().getLimit());
+		List<Document> and = (List<Document>) query.getValue().getQueryObject().get("$and");
+		List<Document> or = (List<Document>) and.get(1).get("$or");
+		assertEquals(new Document("$lt", date), or.get(0).get("date"));
+		assertEquals(date, or.get(1).get("date"));
+		assertEquals(new Document("$lt", id), or.get(1).get("id"));
+	}
+
+	@Test
+	public void searchReadsListItems() {
+		when(ticketRepository.findListItems(any(Query.class))).thenReturn(items(1));
+
+		Page<TicketListItem> page = ticketService.search(0, 10, "printer", null, null, null, null);
+
+		assertEquals(1, page.getTotalElements());
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(ticketRepository).findListItems(query.capture());
+		assertEquals(new Document("$search", "printer"), query.getValue().getQueryObject().get("$text"));
+	}
+
+	@Test
+	public void statusChangeIsGuardedByTheExpectedStatus() {
+		Ticket stored = tickets(1).get(0);
+		stored.setStatus(StatusEnum.New);
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Ticket.class)))
+				.thenReturn(stored);
+
+		Ticket ticket = ticketService.changeStatus(stored.getId(), StatusEnum.New, StatusEnum.Assigned, technician());
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).findAndModify(query.capture(), any(Update.class), any(FindAndModifyOptions.class), eq(Ticket.class));
+		assertEquals(StatusEnum.New, query.getValue().getQueryObject().get("status"));
+		assertEquals(StatusEnum.Assigned, ticket.getStatus());
+		verify(summaryService).onStatusChanged(StatusEnum.New, StatusEnum.Assigned);
+		verify(changeStatusWriter).write(any(ChangeStatus.class));
+		verify(eventPublisher).publishEvent(any(TicketEvent.class));
+	}
+
+	@Test
+	public void staleExpectedStatusIsRejected() {
+		when(mongoTemplate.exists(any(Query.class), eq(Ticket.class))).thenReturn(true);
+
+		try {
+			ticketService.changeStatus("5b7c2a4e9d1f3a0001a1b2c3", StatusEnum.New, StatusEnum.Assigned, technician());
+			fail("a stale status must not be applied");
+		} catch (OptimisticLockingFailureException e) {
+			assertEquals("Ticket status is no longer New", e.getMessage());
+		}
+		verifyZeroInteractions(summaryService, changeStatusWriter, eventPublisher);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void statusChangeWithoutExpectedStatusIsRejected() {
+		ticketService.changeStatus("5b7c2a4e9d1f3a0001a1b2c3", null, StatusEnum.Assigned, technician());
+	}
+
+	@Test
+	public void patchIsGuardedByTheVersion() {
+		Ticket stored = tickets(1).get(0);
+		stored.setStatus(StatusEnum.New);
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Ticket.class)))
+				.thenReturn(stored);
+
+		ticketService.patch(stored.getId(), changes("Printer on fire", 3L));
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(Ticket.class));
+		assertEquals(3L, query.getValue().getQueryObject().get("version"));
+		assertEquals("Printer on fire", ((Document) update.getValue().getUpdateObject().get("$set")).get("title"));
+		verify(eventPublisher).publishEvent(any(TicketEvent.class));
+	}
+
+	@Test
+	public void stalePatchVersionIsRejected() {
+		when(mongoTemplate.exists(any(Query.class), eq(Ticket.class))).thenReturn(true);
+
+		try {
+			ticketService.patch("5b7c2a4e9d1f3a0001a1b2c3", changes("Printer on fire", 3L));
+			fail("a stale version must not be applied");
+		} catch (OptimisticLockingFailureException e) {
+			assertEquals("Ticket was modified by another request", e.getMessage());
+		}
+		verifyZeroInteractions(eventPublisher);
+	}
+
+	@Test
+	public void patchOfAMissingTicketReturnsNull() {
+		assertNull(ticketService.patch("5b7c2a4e9d1f3a0001a1b2c3", changes("Printer on fire", 3L)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void patchWithoutVersionIsRejected() {
+		try {
+			ticketService.patch("5b7c2a4e9d1f3a0001a1b2c3", changes("Printer on fire", null));
+		} finally {
+			verifyZeroInteractions(mongoTemplate);
+		}
+	}
+
+	@Test
+	public void bulkStatusChangeAppliesEveryMatchedTicket() {
+		List<Ticket> stored = tickets(2);
+		when(mongoTemplate.find(any(Query.class), eq(Ticket.class))).thenReturn(stored);
+		BulkOperations bulk = bulkMatching(2);
+		String missing = new ObjectId().toHexString();
+
+		List<BulkItemResult> results = ticketService.changeStatus(
+				Arrays.asList(stored.get(0).getId(), stored.get(1).getId(), missing), StatusEnum.Assigned, null, technician());
+
+		assertNull(results.get(0).getError());
+		assertNull(results.get(1).getError());
+		assertEquals("Register not found for ID: " + missing, results.get(2).getError());
+		verify(bulk, times(2)).updateOne(any(Query.class), any(Update.class));
+		verify(summaryService, times(2)).onStatusChanged(StatusEnum.New, StatusEnum.Assigned);
+		ArgumentCaptor<TicketEvent> event = ArgumentCaptor.forClass(TicketEvent.class);
+		verify(eventPublisher, times(2)).publishEvent(event.capture());
+		TicketListItem item = event.getAllValues().get(0).getTicket();
+		assertEquals(stored.get(0).getTitle(), item.getTitle());
+		assertEquals(stored.get(0).getNumber(), item.getNumber());
+		assertEquals(StatusEnum.Assigned, item.getStatus());
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).find(query.capture(), eq(Ticket.class));
+		Document fields = query.getValue().getFieldsObject();
+		for (String field : Arrays.asList("number", "title", "priority", "date", "assignedUserSummary")) {
+			assertEquals(1, fields.get(field));
+		}
+		verify(changeStatusWriter).writeAll(anyList());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void bulkStatusChangeOnPartialMatchKeepsTheTicketsItsMarkerReached() {
+		List<Ticket> stored = tickets(2);
+		Ticket changed = new Ticket();
+		changed.setId(stored.get(0).getId());
+		when(mongoTemplate.find(any(Query.class), eq(Ticket.class))).thenReturn(stored, Arrays.asList(changed));
+		BulkOperations bulk = bulkMatching(1);
+
+		List<BulkItemResult> results = ticketService.changeStatus(
+				Arrays.asList(stored.get(0).getId(), stored.get(1).getId()), StatusEnum.Assigned, null, technician());
+
+		assertNull(results.get(0).getError());
+		assertEquals("Ticket was modified by another request", results.get(1).getError());
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(bulk, times(2)).updateOne(any(Query.class), update.capture());
+		Object marker = ((Document) update.getValue().getUpdateObject().get("$set")).get("bulkOperation");
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate, times(2)).find(query.capture(), eq(Ticket.class));
+		assertEquals(marker, query.getAllValues().get(1).getQueryObject().get("bulkOperation"));
+		verify(summaryService).onStatusChanged(StatusEnum.New, StatusEnum.Assigned);
+		verify(eventPublisher).publishEvent(any(TicketEvent.class));
+		ArgumentCaptor<List<ChangeStatus>> changes = ArgumentCaptor.forClass(List.class);
+		verify(changeStatusWriter).writeAll(changes.capture());
+		assertEquals(1, changes.getValue().size());
+		assertEquals(stored.get(0).getId(), changes.getValue().get(0).getTicket().getId());
+	}
+
+	private BulkOperations bulkMatching(int matched) {
+		BulkOperations bulk = mock(BulkOperations.class);
+		BulkWriteResult result = mock(BulkWriteResult.class);
+		when(result.getMatchedCount()).thenReturn(matched);
+		when(bulk.execute()).thenReturn(result);
+		when(mongoTemplate.bulkOps(BulkMode.UNORDERED, Ticket.class)).thenReturn(bulk);
+		return bulk;
+	}
+
+	private static Ticket changes(String title, Long version) {
+		Ticket changes = new Ticket();
+		changes.setTitle(title);
+		changes.setVersion(version);
+		return changes;
+	}
+
+	private static User technician() {
+		User user = new User();
+		user.setId("5b7c2a4e9d1f3a0001a1b2c4");
+		user.setEmail("technician@helpdesk.com");
+		user.setProfile(ProfileEnum.ROLE_TECHNICIAN);
+		return user;
+	}
+
+	private static List<TicketListItem> items(int amount) {
+		List<TicketListItem> items = new ArrayList<>();
+		for (Ticket ticket : tickets(amount)) {
+			items.add(TicketListItem.of(ticket));
+		}
+		return items;
+	}
+
+	private static List<Ticket> tickets(int amount) {
+		List<Ticket> tickets = new ArrayList<>();
+		for (int i = 0; i < amount; i++) {
+			Ticket ticket = new Ticket();
+			ticket.setId(new ObjectId().toHexString());
+			ticket.setDate(new Date(1534000000000L - i * 1000L));
+			ticket.setNumber(i + 1);
+			ticket.setTitle("Ticket " + (i + 1));
+			ticket.setStatus(StatusEnum.New);
+			ticket.setVersion(1L);
+			tickets.add(ticket);
+		}
+		return tickets;
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.asuprojects.helpdesk.api.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.bson.Document;
+import org.junit.Test;
+
+import com.asuprojects.helpdesk.api.dto.TicketSuggestion;
+import com.asuprojects.helpdesk.api.entity.Ticket;
+import com.asuprojects.helpdesk.api.entity.User;
+import com.asuprojects.helpdesk.api.event.DomainChangeEvent;
+import com.asuprojects.helpdesk.api.event.DomainChangeEvent.Entity;
+import com.asuprojects.helpdesk.api.event.DomainChangeEvent.Operation;
+import com.mongodb.DBRef;
+
+public class TicketTypeaheadServiceImplTest {
+
+	private TicketTypeaheadServiceImpl typeahead;
+
+	@Before
+	public void setup() {
+		typeahead = new TicketTypeaheadServiceImpl();
+		typeahead.index(ticket("1", 1, "Printer jammed", "u1"));
+		typeahead.index(ticket("2", 2, "New printer request", "u2"));
+		typeahead.index(ticket("3", 3, "Password reset", "u1"));
+	}
+
+	@Test
+	public void shortTermsMatchTheStartOfAWord() {
+		List<TicketSuggestion> suggestions = typeahead.suggest("pr", null, 10);
+
+		assertEquals(2, suggestions.size());
+		assertEquals("1", suggestions.get(0).getId());
+		assertEquals("2", suggestions.get(1).getId());
+		assertTrue(typeahead.suggest("in", null, 10).isEmpty());
+	}
+
+	@Test
+	public void longerTermsMatchAnywhereInTheTitle() {
+		List<TicketSuggestion> suggestions = typeahead.suggest("inter", null, 10);
+
+		assertEquals(2, suggestions.size());
+		assertEquals("2", suggestions.get(0).getId());
+	}
+
+	@Test
+	public void customersOnlySeeTheirOwnTickets() {
+		assertEquals(1, typeahead.suggest("p", "u2", 10).size());
+	}
+
+	@Test
+	public void removedTicketsAreNoLongerSuggested() {
+		typeahead.remove("1");
+
+		assertEquals(1, typeahead.suggest("pr", null, 10).size());
+		assertEquals(1, typeahead.suggest("printer", null, 10).size());
+	}
+
+	/* no template is wired, so these would fail if the event led to a lookup */
+	@Test
+	public void replacedTicketsAreIndexedFromTheChangeStreamDocument() {
+		typeahead.onDomainChange(replace("1", 1, "Printer jammed", "u1"));
+		typeahead.onDomainChange(replace("3", 3, "Monitor flickering", "u1"));
+
+		assertEquals(1, typeahead.suggest("printer jammed", null, 10).size());
+		assertTrue(typeahead.suggest("password", null, 10).isEmpty());
+		assertEquals("3", typeahead.suggest("mo", "u1", 10).get(0).getId());
+	}
+
+	private static DomainChangeEvent replace(String id, int number, String title, String userId) {
+		Document document = new Document("_id", id).append("number", number).append("title", title)
+				.append("user", new DBRef("user", userId));
+		return new DomainChangeEvent(Entity.TICKET, Operation.REPLACE, id, null, document);
+	}
+
+	private static Ticket ticket(String id, int number, String title, String userId) {
+		User user = new User();
+		user.setId(userId);
+		Ticket ticket = new Ticket();
+		ticket.setId(id);
+		ticket.setNumber(number);
+		ticket.setTitle(title);
+		ticket.setUser(user);
+		return ticket;
+	}
+
+}
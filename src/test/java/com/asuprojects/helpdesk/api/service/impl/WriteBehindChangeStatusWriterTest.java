@@ -0,0 +1,162 @@
+package com.asuprojects.helpdesk.api.service.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.asuprojects.helpdesk.api.entity.ChangeStatus;
+import com.asuprojects.helpdesk.api.enums.StatusEnum;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@RunWith(MockitoJUnitRunner.class)
+public class WriteBehindChangeStatusWriterTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Mock
+	private MongoTemplate mongoTemplate;
+
+	@Mock
+	private MongoCollection<Document> collection;
+
+	@InjectMocks
+	private WriteBehindChangeStatusWriter writer;
+
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private File spillDir;
+
+	@Before
+	public void setup() throws Exception {
+		spillDir = folder.newFolder("audit");
+		ReflectionTestUtils.setField(writer, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(writer, "capacity", 10);
+		ReflectionTestUtils.setField(writer, "batchSize", 2);
+		ReflectionTestUtils.setField(writer, "flushInterval", 10L);
+		ReflectionTestUtils.setField(writer, "offerTimeout", 0L);
+		ReflectionTestUtils.setField(writer, "spillDir", spillDir);
+		ReflectionTestUtils.setField(writer, "segmentSize", 1);
+		when(mongoTemplate.getCollectionName(ChangeStatus.class)).thenReturn("changeStatus");
+		when(mongoTemplate.getCollection("changeStatus")).thenReturn(collection);
+	}
+
+	@Test
+	public void spilledSegmentsAreReplayedAtStartup() throws Exception {
+		File segment = new File(spillDir, "audit-1-1.jsonl");
+		String first = new ObjectId().toHexString();
+		String second = new ObjectId().toHexString();
+		String third = new ObjectId().toHexString();
+		Files.write(segment.toPath(), Arrays.asList(row(first), "", row(second), row(third)), StandardCharsets.UTF_8);
+		/* the replay reuses its batch list, so copies are kept */
+		List<List<Document>> batches = new ArrayList<>();
+		doAnswer(invocation -> batches.add(new ArrayList<>(invocation.<List<Document>>getArgument(0))))
+				.when(collection).insertMany(anyList(), any(InsertManyOptions.class));
+
+		writer.init();
+		writer.shutdown();
+
+		assertEquals(2, batches.size());
+		assertEquals(2, batches.get(0).size());
+		assertEquals(new ObjectId(first), batches.get(0).get(0).get("_id"));
+		assertEquals(new ObjectId(third), batches.get(1).get(0).get("_id"));
+		assertFalse(segment.exists());
+	}
+
+	@Test
+	public void failedSynchronousWriteKeepsItsSegmentForReplay() throws Exception {
+		writeSynchronously();
+		doThrow(new MongoException("primary unavailable")).doNothing()
+				.when(collection).insertMany(anyList(), any(InsertManyOptions.class));
+
+		ChangeStatus failed = changeStatus();
+		writer.write(failed);
+		writer.write(changeStatus());
+
+		File[] segments = spillDir.listFiles();
+		assertEquals(1, segments.length);
+		List<String> lines = Files.readAllLines(segments[0].toPath(), StandardCharsets.UTF_8);
+		assertEquals(1, lines.size());
+		assertTrue(lines.get(0).contains(failed.getId()));
+
+		ReflectionTestUtils.invokeMethod(writer, "replaySpilledSegments");
+
+		verify(collection, times(3)).insertMany(anyList(), any(InsertManyOptions.class));
+		assertArrayEquals(new File[0], spillDir.listFiles());
+	}
+
+	@Test
+	public void storedSynchronousWriteDeletesItsSegment() throws Exception {
+		writeSynchronously();
+
+		writer.write(changeStatus());
+		writer.write(changeStatus());
+
+		verify(collection, times(2)).insertMany(anyList(), any(InsertManyOptions.class));
+		assertArrayEquals(new File[0], spillDir.listFiles());
+	}
+
+	/* a queue that never accepts forces every row onto the request thread */
+	private void writeSynchronously() {
+		MongoConverter converter = mock(MongoConverter.class);
+		doAnswer(invocation -> {
+			ChangeStatus changeStatus = invocation.getArgument(0);
+			Document document = invocation.getArgument(1);
+			document.put("_id", new ObjectId(changeStatus.getId()));
+			document.put("status", changeStatus.getStatus().name());
+			return null;
+		}).when(converter).write(any(ChangeStatus.class), any(Document.class));
+		when(mongoTemplate.getConverter()).thenReturn(converter);
+		ReflectionTestUtils.setField(writer, "queue", mock(BlockingQueue.class));
+		ReflectionTestUtils.setField(writer, "flushTimer", meterRegistry.timer("audit.flush.latency"));
+		ReflectionTestUtils.setField(writer, "written", meterRegistry.counter("audit.records.written"));
+		ReflectionTestUtils.setField(writer, "synchronousWrites", meterRegistry.counter("audit.records.synchronous"));
+	}
+
+	private ChangeStatus changeStatus() {
+		ChangeStatus changeStatus = new ChangeStatus();
+		changeStatus.setStatus(StatusEnum.Assigned);
+		return changeStatus;
+	}
+
+	private String row(String id) {
+		return "{\"_id\": {\"$oid\": \"" + id + "\"}, \"status\": \"Assigned\"}";
+	}
+
+}